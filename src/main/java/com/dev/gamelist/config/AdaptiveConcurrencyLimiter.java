@@ -0,0 +1,98 @@
+package com.dev.gamelist.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// limitador de concorrência (bulkhead) com limite adaptativo AIMD:
+// cresce de forma aditiva enquanto a latência observada fica abaixo do alvo
+// e reduz de forma multiplicativa quando a latência ultrapassa o alvo
+public class AdaptiveConcurrencyLimiter {
+
+	private static final double BACKOFF_RATIO = 0.9;
+
+	private final String name;
+	private final int minLimit;
+	private final int maxLimit;
+	private final long latencyTargetNanos;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition released = lock.newCondition();
+
+	private double limit;
+	private int inFlight;
+
+	public AdaptiveConcurrencyLimiter(String name, int minLimit, int maxLimit, long latencyTargetMillis) {
+		if (minLimit < 1 || maxLimit < minLimit) {
+			throw new IllegalArgumentException("Limites de concorrência inválidos para o grupo " + name);
+		}
+		this.name = name;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(latencyTargetMillis);
+		this.limit = maxLimit;
+	}
+
+	// limitador de capacidade fixa, sem adaptação por latência
+	public static AdaptiveConcurrencyLimiter fixed(String name, int limit) {
+		return new AdaptiveConcurrencyLimiter(name, limit, limit, Long.MAX_VALUE / 1_000_000L);
+	}
+
+	// aguarda uma vaga por no máximo o tempo informado; retorna false se o grupo continuar saturado
+	public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+		long remaining = unit.toNanos(timeout);
+		lock.lock();
+		try {
+			while (inFlight >= (int) limit) {
+				if (remaining <= 0L) {
+					return false;
+				}
+				remaining = released.awaitNanos(remaining);
+			}
+			inFlight++;
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// libera a vaga e ajusta o limite com base na latência da requisição concluída
+	public void release(long latencyNanos) {
+		lock.lock();
+		try {
+			boolean saturated = inFlight >= (int) limit;
+			inFlight--;
+			if (latencyNanos > latencyTargetNanos) {
+				limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+			} else if (saturated) {
+				// só cresce quando o limite atual estava de fato sendo usado
+				limit = Math.min(maxLimit, limit + 1.0 / limit);
+			}
+			released.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getLimit() {
+		lock.lock();
+		try {
+			return (int) limit;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public int getInFlight() {
+		lock.lock();
+		try {
+			return inFlight;
+		} finally {
+			lock.unlock();
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.dev.gamelist.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.dev.gamelist.exceptions.ServiceUnavailableException;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// controle de admissão por grupo de endpoints: cada grupo possui seu próprio bulkhead,
+// e requisições que não conseguem uma vaga dentro do tempo de fila recebem 503 imediatamente
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+	private static final String LIMITER_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".limiter";
+	private static final String START_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".start";
+
+	private final AdaptiveConcurrencyLimiter catalogReads;
+	private final AdaptiveConcurrencyLimiter listReads;
+	private final AdaptiveConcurrencyLimiter writes;
+	private final long readQueueTimeoutMillis;
+	private final long writeQueueTimeoutMillis;
+	private final long retryAfterSeconds;
+
+	public AdmissionControlInterceptor(AdaptiveConcurrencyLimiter catalogReads, AdaptiveConcurrencyLimiter listReads,
+			AdaptiveConcurrencyLimiter writes, long readQueueTimeoutMillis, long writeQueueTimeoutMillis,
+			long retryAfterSeconds) {
+		this.catalogReads = catalogReads;
+		this.listReads = listReads;
+		this.writes = writes;
+		this.readQueueTimeoutMillis = readQueueTimeoutMillis;
+		this.writeQueueTimeoutMillis = writeQueueTimeoutMillis;
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+			throws Exception {
+		// o redespacho ASYNC (fim de um SSE ou resultado assíncrono) pertence a uma requisição já admitida
+		if (request.getDispatcherType() == DispatcherType.ASYNC) {
+			return true;
+		}
+		AdaptiveConcurrencyLimiter limiter = limiterFor(request);
+		if (limiter == null) {
+			return true;
+		}
+		long timeout = limiter == writes ? writeQueueTimeoutMillis : readQueueTimeoutMillis;
+		if (!limiter.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+			throw new ServiceUnavailableException(
+					"Serviço temporariamente sobrecarregado (" + limiter.getName() + "). Tente novamente.",
+					retryAfterSeconds);
+		}
+		request.setAttribute(LIMITER_ATTRIBUTE, limiter);
+		request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		release(request);
+	}
+
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+			Object handler) {
+		// processamento assíncrono não deve manter a vaga ocupada
+		release(request);
+	}
+
+	private void release(HttpServletRequest request) {
+		Object limiter = request.getAttribute(LIMITER_ATTRIBUTE);
+		if (limiter instanceof AdaptiveConcurrencyLimiter admitted) {
+			request.removeAttribute(LIMITER_ATTRIBUTE);
+			long start = (Long) request.getAttribute(START_ATTRIBUTE);
+			admitted.release(System.nanoTime() - start);
+		}
+	}
+
+	// classifica a requisição: leituras do catálogo, leituras de listas ou escritas em listas
+	private AdaptiveConcurrencyLimiter limiterFor(HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		boolean read = "GET".equalsIgnoreCase(request.getMethod());
+		if (path.startsWith("/lists")) {
+			return read ? listReads : writes;
+		}
+		if (path.startsWith("/games") && read) {
+			return catalogReads;
+		}
+		return null;
+	}
+}
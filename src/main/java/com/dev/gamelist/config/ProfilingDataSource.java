@@ -0,0 +1,125 @@
+package com.dev.gamelist.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// DataSource que mede cada statement no nível JDBC: vale para o Hibernate, consultas nativas e JdbcTemplate
+// (incluindo lotes), e o tempo registrado é o da execução no BD. Statements acima do limite são
+// registrados no log com o SQL e os parâmetros
+public class ProfilingDataSource extends DelegatingDataSource {
+
+	private static final Logger logger = LoggerFactory.getLogger(ProfilingDataSource.class);
+
+	private final long slowQueryThresholdNanos;
+
+	public ProfilingDataSource(DataSource target, long slowQueryThresholdMillis) {
+		super(target);
+		this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMillis);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return wrap(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return wrap(super.getConnection(username, password));
+	}
+
+	private Connection wrap(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+				(proxy, method, args) -> {
+					Object result = invoke(connection, method, args);
+					String name = method.getName();
+					if (result instanceof Statement statement && (name.startsWith("prepare") || name.equals("createStatement"))) {
+						String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+						return wrap(statement, sql);
+					}
+					return result;
+				});
+	}
+
+	private Statement wrap(Statement statement, String sql) {
+		Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+				: statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+		return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] { type },
+				new StatementHandler(statement, sql));
+	}
+
+	private final class StatementHandler implements InvocationHandler {
+
+		private final Statement target;
+		private final String preparedSql;
+		private final TreeMap<Integer, Object> parameters = new TreeMap<>();
+		private int batchSize;
+
+		StatementHandler(Statement target, String preparedSql) {
+			this.target = target;
+			this.preparedSql = preparedSql;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if (name.startsWith("execute")) {
+				boolean batch = name.equals("executeBatch");
+				String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+				long start = System.nanoTime();
+				try {
+					return ProfilingDataSource.invoke(target, method, args);
+				} finally {
+					executed(sql, batch ? batchSize : 0, System.nanoTime() - start);
+					if (batch) {
+						batchSize = 0;
+					}
+				}
+			}
+			if (name.equals("addBatch")) {
+				batchSize++;
+			} else if (name.equals("clearBatch")) {
+				batchSize = 0;
+			} else if (name.equals("clearParameters")) {
+				parameters.clear();
+			} else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+				parameters.put(index, args[1]);
+			}
+			return ProfilingDataSource.invoke(target, method, args);
+		}
+
+		private void executed(String sql, int batchSize, long elapsedNanos) {
+			QueryProfile profile = QueryProfiler.current();
+			if (profile != null) {
+				profile.statementExecuted(elapsedNanos);
+			}
+			if (elapsedNanos > slowQueryThresholdNanos) {
+				logger.warn("Statement lento: {} ms em {}{}, parâmetros {}, SQL: {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+						profile != null ? profile.currentMethod() : QueryProfile.OUTSIDE_REPOSITORY,
+						batchSize > 0 ? " (lote de " + batchSize + ")" : "", parameters, sql);
+			}
+		}
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.dev.gamelist.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// estatísticas dos statements JDBC executados durante uma requisição, agrupadas por método de repositório
+public class QueryProfile {
+
+	// statements emitidos fora de uma chamada de repositório (ex.: flush do Hibernate no commit, JdbcTemplate)
+	public static final String OUTSIDE_REPOSITORY = "<fora de repositório>";
+
+	public static final class MethodStats {
+		private int calls;
+		private int statements;
+		private long totalNanos;
+
+		public int getCalls() {
+			return calls;
+		}
+
+		public int getStatements() {
+			return statements;
+		}
+
+		// tempo gasto na execução dos statements (não inclui o restante da chamada de repositório)
+		public long getTotalMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+		}
+	}
+
+	private final Map<String, MethodStats> byMethod = new LinkedHashMap<>();
+	private int statementCount;
+	private long totalNanos;
+	private String currentMethod;
+
+	// uma execução no BD: um execute/executeQuery/executeUpdate ou um executeBatch inteiro
+	void statementExecuted(long elapsedNanos) {
+		statementCount++;
+		totalNanos += elapsedNanos;
+		MethodStats stats = stats(currentMethod());
+		stats.statements++;
+		stats.totalNanos += elapsedNanos;
+	}
+
+	// marca o início de uma chamada de repositório e retorna a chamada anterior (chamadas aninhadas)
+	String enter(String method) {
+		String previous = currentMethod;
+		currentMethod = method;
+		stats(method).calls++;
+		return previous;
+	}
+
+	void exit(String previous) {
+		currentMethod = previous;
+	}
+
+	String currentMethod() {
+		return currentMethod != null ? currentMethod : OUTSIDE_REPOSITORY;
+	}
+
+	public int getStatementCount() {
+		return statementCount;
+	}
+
+	public long getTotalMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+	}
+
+	public Map<String, MethodStats> getByMethod() {
+		return Collections.unmodifiableMap(byMethod);
+	}
+
+	public String summary() {
+		StringBuilder sb = new StringBuilder().append(statementCount).append(" statement(s), ")
+				.append(getTotalMillis()).append(" ms no BD");
+		byMethod.forEach((method, stats) -> sb.append(" | ").append(method).append(": ").append(stats.calls)
+				.append(" chamada(s), ").append(stats.statements).append(" statement(s), ")
+				.append(stats.getTotalMillis()).append(" ms"));
+		return sb.toString();
+	}
+
+	private MethodStats stats(String method) {
+		return byMethod.computeIfAbsent(method, key -> new MethodStats());
+	}
+}
@@ -0,0 +1,28 @@
+package com.dev.gamelist.config;
+
+// mantém o perfil de consultas da requisição em andamento na thread atual
+public final class QueryProfiler {
+
+	private static final ThreadLocal<QueryProfile> CURRENT = new ThreadLocal<>();
+
+	private QueryProfiler() {
+	}
+
+	// inicia um perfil na thread atual; se já existir um perfil ativo, ele continua sendo usado
+	public static QueryProfile begin() {
+		QueryProfile profile = CURRENT.get();
+		if (profile == null) {
+			profile = new QueryProfile();
+			CURRENT.set(profile);
+		}
+		return profile;
+	}
+
+	public static QueryProfile current() {
+		return CURRENT.get();
+	}
+
+	public static void end() {
+		CURRENT.remove();
+	}
+}
@@ -0,0 +1,55 @@
+package com.dev.gamelist.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration
+public class QueryProfilingConfig {
+
+	// envolve o DataSource para contar e medir todos os statements JDBC, de qualquer origem
+	@Bean
+	public static BeanPostProcessor profilingDataSourcePostProcessor(Environment environment) {
+		long slowQueryThresholdMillis = environment.getRequiredProperty("query-profiler.slow-query-threshold-ms", Long.class);
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && !(bean instanceof ProfilingDataSource)) {
+					return new ProfilingDataSource(dataSource, slowQueryThresholdMillis);
+				}
+				return bean;
+			}
+		};
+	}
+
+	// adiciona o interceptador de profiling ao proxy de cada repositório Spring Data
+	@Bean
+	public static BeanPostProcessor repositoryProfilingPostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+					factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+							(proxyFactory, information) -> proxyFactory.addAdvice(new RepositoryProfilingInterceptor(
+									information.getRepositoryInterface().getSimpleName()))));
+				}
+				return bean;
+			}
+		};
+	}
+
+	@Bean
+	public FilterRegistrationBean<QueryProfilingFilter> queryProfilingFilter(Environment environment) {
+		int nPlusOneThreshold = environment.getRequiredProperty("query-profiler.n-plus-one-threshold", Integer.class);
+		FilterRegistrationBean<QueryProfilingFilter> registration = new FilterRegistrationBean<>(
+				new QueryProfilingFilter(nPlusOneThreshold));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+}
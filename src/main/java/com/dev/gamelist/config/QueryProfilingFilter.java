@@ -0,0 +1,55 @@
+package com.dev.gamelist.config;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// abre um perfil de consultas por requisição HTTP e, ao final, registra o resumo
+// e alerta quando um mesmo método de repositório é chamado repetidas vezes (possível N+1)
+public class QueryProfilingFilter extends OncePerRequestFilter {
+
+	private static final Logger logger = LoggerFactory.getLogger(QueryProfilingFilter.class);
+
+	private final int nPlusOneThreshold;
+
+	public QueryProfilingFilter(int nPlusOneThreshold) {
+		this.nPlusOneThreshold = nPlusOneThreshold;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		// um perfil já ativo (ex.: aberto por um teste) é reaproveitado e encerrado por quem o abriu
+		boolean owner = QueryProfiler.current() == null;
+		QueryProfile profile = QueryProfiler.begin();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			report(request, profile);
+			if (owner) {
+				QueryProfiler.end();
+			}
+		}
+	}
+
+	private void report(HttpServletRequest request, QueryProfile profile) {
+		if (profile.getStatementCount() == 0) {
+			return;
+		}
+		String endpoint = request.getMethod() + " " + request.getRequestURI();
+		logger.debug("{}: {}", endpoint, profile.summary());
+		profile.getByMethod().forEach((method, stats) -> {
+			if (stats.getCalls() >= nPlusOneThreshold) {
+				logger.warn("Possível N+1 em {}: {} chamado {} vezes na mesma requisição", endpoint, method,
+						stats.getCalls());
+			}
+		});
+	}
+}
@@ -0,0 +1,29 @@
+package com.dev.gamelist.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+// marca a chamada de repositório em andamento, para que os statements medidos pelo ProfilingDataSource
+// sejam atribuídos ao método que os originou e as chamadas repetidas (possível N+1) sejam contadas
+public class RepositoryProfilingInterceptor implements MethodInterceptor {
+
+	private final String repositoryName;
+
+	public RepositoryProfilingInterceptor(String repositoryName) {
+		this.repositoryName = repositoryName;
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		QueryProfile profile = QueryProfiler.current();
+		if (profile == null) {
+			return invocation.proceed();
+		}
+		String previous = profile.enter(repositoryName + "." + invocation.getMethod().getName());
+		try {
+			return invocation.proceed();
+		} finally {
+			profile.exit(previous);
+		}
+	}
+}
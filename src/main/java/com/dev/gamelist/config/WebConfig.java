@@ -0,0 +1,48 @@
+package com.dev.gamelist.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+	@Value("${admission.catalog.max-concurrency}")
+	private int catalogMaxConcurrency;
+
+	@Value("${admission.lists.max-concurrency}")
+	private int listsMaxConcurrency;
+
+	@Value("${admission.writes.max-concurrency}")
+	private int writesMaxConcurrency;
+
+	@Value("${admission.reads.queue-timeout-ms}")
+	private long readQueueTimeoutMillis;
+
+	@Value("${admission.writes.queue-timeout-ms}")
+	private long writeQueueTimeoutMillis;
+
+	@Value("${admission.reads.latency-target-ms}")
+	private long readLatencyTargetMillis;
+
+	@Value("${admission.retry-after-seconds}")
+	private long retryAfterSeconds;
+
+	// as escritas têm vagas reservadas e fixas, enquanto as leituras se adaptam à latência observada,
+	// de modo que picos de leitura não consigam esgotar as conexões usadas pelas reordenações
+	@Bean
+	public AdmissionControlInterceptor admissionControlInterceptor() {
+		return new AdmissionControlInterceptor(
+				new AdaptiveConcurrencyLimiter("catalog-reads", 1, catalogMaxConcurrency, readLatencyTargetMillis),
+				new AdaptiveConcurrencyLimiter("list-reads", 1, listsMaxConcurrency, readLatencyTargetMillis),
+				AdaptiveConcurrencyLimiter.fixed("writes", writesMaxConcurrency),
+				readQueueTimeoutMillis, writeQueueTimeoutMillis, retryAfterSeconds);
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(admissionControlInterceptor()).addPathPatterns("/games/**", "/lists/**");
+	}
+}
@@ -8,12 +8,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.dev.gamelist.dto.GameDTO;
 import com.dev.gamelist.dto.GameMinDTO;
 import com.dev.gamelist.exceptions.ResourceNotFoundException;
+import com.dev.gamelist.services.ColumnarCatalogService;
 import com.dev.gamelist.services.GameService;
+import com.dev.gamelist.services.SimilarGamesService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -31,6 +34,12 @@ public class GameController {
 	@Autowired
 	private GameService gameService;
 
+	@Autowired
+	private SimilarGamesService similarGamesService;
+
+	@Autowired
+	private ColumnarCatalogService columnarCatalogService;
+
 	@Operation(summary = "Busca um jogo", description = "Busca um jogo do catálogo pelo ID do jogo.", parameters = {
 			@Parameter(name = "id", description = "ID do jogo", required = true, example = "1") })
 	@ApiResponses(value = {
@@ -51,17 +60,57 @@ public class GameController {
 		}
 	}
 
-	@Operation(summary = "Busca todos os jogos", description = "Retorna todos os jogos de todas as listas do catálogo.")
+	@Operation(summary = "Busca todos os jogos", description = "Retorna todos os jogos de todas as listas do catálogo. "
+			+ "Com filtros ou ordenação, a consulta é atendida pelo retrato colunar do catálogo em memória.", parameters = {
+			@Parameter(name = "sort", description = "Campo (id, year ou score) e direção opcional", example = "score,desc"),
+			@Parameter(name = "minScore", description = "Nota mínima", example = "4.5"),
+			@Parameter(name = "maxScore", description = "Nota máxima"),
+			@Parameter(name = "yearFrom", description = "Ano inicial", example = "2010"),
+			@Parameter(name = "yearTo", description = "Ano final"),
+			@Parameter(name = "genre", description = "Um dos gêneros do jogo (termo exato, sem diferenciar maiúsculas)", example = "Platform"),
+			@Parameter(name = "limit", description = "Quantidade máxima de jogos, entre 1 e " + ColumnarCatalogService.MAX_LIMIT
+					+ ". Quando há filtro ou ordenação e o limite não é informado, apenas os primeiros "
+					+ ColumnarCatalogService.DEFAULT_LIMIT + " jogos são retornados.", example = "20") })
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "A solicitação foi bem-sucedida.", 
 					content = @Content(mediaType = "application/json", schema = @Schema(implementation = GameMinDTO.class))),
-			@ApiResponse(responseCode = "204", description = "Nenhum conteúdo a ser exibido.") })
+			@ApiResponse(responseCode = "204", description = "Nenhum conteúdo a ser exibido."),
+			@ApiResponse(responseCode = "400", description = "Filtro ou ordenação inválidos.") })
 	@GetMapping
-	public ResponseEntity<List<GameMinDTO>> findAll() {
-		List<GameMinDTO> games = gameService.findAll();
+	public ResponseEntity<List<GameMinDTO>> findAll(@RequestParam(required = false) String sort,
+			@RequestParam(required = false) Double minScore, @RequestParam(required = false) Double maxScore,
+			@RequestParam(required = false) Integer yearFrom, @RequestParam(required = false) Integer yearTo,
+			@RequestParam(required = false) String genre, @RequestParam(required = false) Integer limit) {
+		boolean filtered = sort != null || minScore != null || maxScore != null || yearFrom != null || yearTo != null
+				|| genre != null || limit != null;
+		List<GameMinDTO> games = filtered
+				? columnarCatalogService.query(sort, minScore, maxScore, yearFrom, yearTo, genre,
+						limit != null ? limit : ColumnarCatalogService.DEFAULT_LIMIT)
+				: gameService.findAll();
 		if (games.isEmpty()) {
 			return ResponseEntity.noContent().build(); // Retorna 204 se não houver dados
 		}
 		return ResponseEntity.ok(games); // Retorna 200 com a lista
 	}
+
+	@Operation(summary = "Busca jogos parecidos", description = "Retorna os k jogos mais parecidos com o jogo informado, considerando gênero, plataformas, ano e nota.", parameters = {
+			@Parameter(name = "id", description = "ID do jogo", required = true, example = "1"),
+			@Parameter(name = "k", description = "Quantidade de jogos parecidos", example = "5") })
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "A solicitação foi bem-sucedida.", 
+					content = @Content(mediaType = "application/json", schema = @Schema(implementation = GameMinDTO.class))),
+			@ApiResponse(responseCode = "400", description = "ID ou k inválido fornecido."),
+			@ApiResponse(responseCode = "404", description = "Recurso não encontrado.") })
+	@GetMapping(value = "/{id}/similar")
+	public ResponseEntity<List<GameMinDTO>> findSimilar(@PathVariable Long id, @RequestParam(defaultValue = "5") int k) {
+		if (id == null || id <= 0) {
+			return ResponseEntity.badRequest().body(null); // Retorna 400 se o ID for inválido
+		}
+		try {
+			List<GameMinDTO> games = similarGamesService.findSimilar(id, k);
+			return ResponseEntity.ok(games); // Retorna 200 com a lista
+		} catch (ResourceNotFoundException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null); // Retorna 404 se não for encontrado
+		}
+	}
 }
@@ -4,22 +4,32 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.dev.gamelist.dto.GameListDTO;
 import com.dev.gamelist.dto.GameMinDTO;
+import com.dev.gamelist.dto.ListDeltaDTO;
+import com.dev.gamelist.dto.ListEventDTO;
+import com.dev.gamelist.dto.ListInsertionDTO;
+import com.dev.gamelist.dto.ListRemovalDTO;
 import com.dev.gamelist.dto.ReplacementDTO;
 import com.dev.gamelist.exceptions.ResourceNotFoundException;
 import com.dev.gamelist.services.GameListService;
 import com.dev.gamelist.services.GameService;
+import com.dev.gamelist.services.ListEventFeed;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -31,12 +41,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "Game List", description = "Controlador para buscar e manipular listas de jogos do catálogo.")
 public class GameListController {
 
+	private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
 	@Autowired
 	private GameListService gameListService;
 
 	@Autowired
 	private GameService gameService;
 
+	@Autowired
+	private ListEventFeed listEventFeed;
+
 	@Operation(summary = "Busca todas as listas de jogos", description = "Busca e retorna todas as listas de jogos disponíveis no catálogo.")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Listas de jogos recuperadas com sucesso.", 
@@ -51,17 +66,25 @@ public class GameListController {
 		return ResponseEntity.ok(gameLists); // 200 OK
 	}
 
-	@Operation(summary = "Busca jogos de uma lista específica", description = "Retorna todos os jogos associados a uma lista específica identificada pelo ID.")
+	@Operation(summary = "Busca jogos de uma lista específica", description = "Retorna os jogos associados a uma lista específica identificada pelo ID. "
+			+ "Com os parâmetros from/to, retorna apenas a janela de posições [from, to) e informa o total de jogos da lista no header X-Total-Count.", 
+			parameters = {
+			@Parameter(name = "from", description = "Posição inicial da janela (inclusiva)", example = "200"),
+			@Parameter(name = "to", description = "Posição final da janela (exclusiva)", example = "250") })
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Jogos recuperados com sucesso.", 
 					content = @Content(mediaType = "application/json", schema = @Schema(implementation = GameMinDTO.class))),
-			@ApiResponse(responseCode = "400", description = "ID inválido fornecido."),
+			@ApiResponse(responseCode = "400", description = "ID ou intervalo de posições inválido."),
 			@ApiResponse(responseCode = "404", description = "Lista não encontrada.") })
 	@GetMapping(value = "/{listId}/games")
-	public ResponseEntity<List<GameMinDTO>> searchByList(@PathVariable Long listId) {
+	public ResponseEntity<List<GameMinDTO>> searchByList(@PathVariable Long listId,
+			@RequestParam(required = false) Integer from, @RequestParam(required = false) Integer to) {
 		if (listId == null || listId <= 0) {
 			return ResponseEntity.badRequest().body(null); // 400 Bad Request
 		}
+		if (from != null || to != null) {
+			return searchByListWindow(listId, from, to);
+		}
 		try {
 			List<GameMinDTO> games = gameService.findByList(listId);
 			if (games.isEmpty()) {
@@ -73,6 +96,45 @@ public class GameListController {
 		}
 	}
 
+	// leitura de uma janela de posições, com o total de jogos da lista vindo do contador da lista
+	private ResponseEntity<List<GameMinDTO>> searchByListWindow(Long listId, Integer from, Integer to) {
+		int start = from != null ? from : 0;
+		if (start < 0 || (to != null && to < start)) {
+			return ResponseEntity.badRequest().body(null); // 400 Bad Request
+		}
+		try {
+			int total = gameListService.countGames(listId);
+			int end = to != null ? Math.min(to, total) : total;
+			List<GameMinDTO> games = start < end ? gameService.findByListWindow(listId, start, end) : List.of();
+			if (games.isEmpty()) {
+				return ResponseEntity.noContent().header(TOTAL_COUNT_HEADER, String.valueOf(total)).build(); // 204 No Content
+			}
+			return ResponseEntity.ok().header(TOTAL_COUNT_HEADER, String.valueOf(total)).body(games); // 200 OK
+		} catch (ResourceNotFoundException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null); // 404 Not Found
+		}
+	}
+
+	@Operation(summary = "Busca as mudanças de uma lista desde uma versão", description = "Retorna apenas os pares (gameId, position) que mudaram desde a versão informada, junto com a versão atual da lista. "
+			+ "Se o log de mudanças já foi compactado além dessa versão (ou se a versão for negativa), retorna a lista completa com full = true.", 
+			parameters = @Parameter(name = "sinceVersion", description = "Última versão da lista conhecida pelo cliente (-1 para a primeira sincronização)", example = "42"))
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Mudanças recuperadas com sucesso.", 
+					content = @Content(mediaType = "application/json", schema = @Schema(implementation = ListDeltaDTO.class))),
+			@ApiResponse(responseCode = "400", description = "ID inválido fornecido."),
+			@ApiResponse(responseCode = "404", description = "Lista não encontrada.") })
+	@GetMapping(value = "/{listId}/games", params = "sinceVersion")
+	public ResponseEntity<ListDeltaDTO> searchChangesSince(@PathVariable Long listId, @RequestParam long sinceVersion) {
+		if (listId == null || listId <= 0) {
+			return ResponseEntity.badRequest().body(null); // 400 Bad Request
+		}
+		try {
+			return ResponseEntity.ok(gameListService.findChangesSince(listId, sinceVersion)); // 200 OK
+		} catch (ResourceNotFoundException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null); // 404 Not Found
+		}
+	}
+
 	@Operation(summary = "Reposiciona jogos em uma lista", description = "Reposiciona dinamicamente jogos de uma lista com base nos índices fornecidos.")
 	@ApiResponses(value = { 
 			@ApiResponse(responseCode = "204", description = "Reorganização concluída com sucesso."),
@@ -97,4 +159,80 @@ public class GameListController {
 			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build(); // 500 Internal Server Error
 		}
 	}
+
+	@Operation(summary = "Insere jogos em uma lista", description = "Insere um ou mais jogos, na ordem informada, a partir da posição indicada; os jogos seguintes são deslocados. "
+			+ "Use a quantidade de jogos da lista como posição para inserir no final. Aceita no máximo "
+			+ GameListService.MAX_GAMES_PER_REQUEST + " jogos por requisição.")
+	@ApiResponses(value = { 
+			@ApiResponse(responseCode = "204", description = "Jogos inseridos com sucesso."),
+			@ApiResponse(responseCode = "400", description = "ID inválido, posição fora dos limites, jogos demais, repetidos ou já presentes na lista."),
+			@ApiResponse(responseCode = "404", description = "Lista ou jogo não encontrado."),
+			@ApiResponse(responseCode = "500", description = "Erro interno durante a inserção.") })
+	@PostMapping(value = "/{listId}/insertion")
+	public ResponseEntity<Void> insertGames(@PathVariable Long listId, @RequestBody ListInsertionDTO body) {
+		if (listId == null || listId <= 0) {
+			return ResponseEntity.badRequest().build(); // 400 Bad Request
+		}
+		if (body == null || body.getPosition() == null || body.getPosition() < 0) {
+			return ResponseEntity.badRequest().build(); // 400 Bad Request
+		}
+		try {
+			gameListService.insertGames(listId, body.getPosition(), body.getGameIds());
+			return ResponseEntity.noContent().build(); // 204 No Content
+		} catch (ResourceNotFoundException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).build(); // 404 Not Found
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build(); // 400 Bad Request
+		} catch (Exception e) {
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build(); // 500 Internal Server Error
+		}
+	}
+
+	@Operation(summary = "Remove jogos de uma lista", description = "Remove os jogos informados da lista; os jogos seguintes ocupam as posições liberadas. "
+			+ "Aceita no máximo " + GameListService.MAX_GAMES_PER_REQUEST + " jogos por requisição.")
+	@ApiResponses(value = { 
+			@ApiResponse(responseCode = "204", description = "Jogos removidos com sucesso."),
+			@ApiResponse(responseCode = "400", description = "ID inválido, body malformado ou jogos demais."),
+			@ApiResponse(responseCode = "404", description = "Lista não encontrada ou jogo não pertencente à lista."),
+			@ApiResponse(responseCode = "500", description = "Erro interno durante a remoção.") })
+	@PostMapping(value = "/{listId}/removal")
+	public ResponseEntity<Void> removeGames(@PathVariable Long listId, @RequestBody ListRemovalDTO body) {
+		if (listId == null || listId <= 0) {
+			return ResponseEntity.badRequest().build(); // 400 Bad Request
+		}
+		if (body == null) {
+			return ResponseEntity.badRequest().build(); // 400 Bad Request
+		}
+		try {
+			gameListService.removeGames(listId, body.getGameIds());
+			return ResponseEntity.noContent().build(); // 204 No Content
+		} catch (ResourceNotFoundException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).build(); // 404 Not Found
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build(); // 400 Bad Request
+		} catch (Exception e) {
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build(); // 500 Internal Server Error
+		}
+	}
+
+	@Operation(summary = "Acompanha as reordenações de uma lista", description = "Abre um stream Server-Sent Events com cada reordenação confirmada na lista ({source, destination, version}); a versão da lista pode ser usada em /games?sinceVersion. "
+			+ "Clientes reconectados enviam o header Last-Event-ID para receber os eventos perdidos; se estiverem atrasados demais, se o id for de outra instância do feed (despejado por ociosidade ou reinício do servidor), ou se jogos forem inseridos/removidos, recebem um evento reset e devem recarregar a lista.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Stream de eventos aberto.", 
+					content = @Content(mediaType = "text/event-stream", schema = @Schema(implementation = ListEventDTO.class))),
+			@ApiResponse(responseCode = "400", description = "ID inválido fornecido."),
+			@ApiResponse(responseCode = "404", description = "Lista não encontrada.") })
+	@GetMapping(value = "/{listId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> events(@PathVariable Long listId,
+			@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+		if (listId == null || listId <= 0) {
+			return ResponseEntity.badRequest().build(); // 400 Bad Request
+		}
+		try {
+			gameListService.countGames(listId);
+			return ResponseEntity.ok(listEventFeed.subscribe(listId, lastEventId)); // 200 OK
+		} catch (ResourceNotFoundException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).build(); // 404 Not Found
+		}
+	}
 }
@@ -22,6 +22,14 @@ public class GameMinDTO {
 		shortDescription = entity.getShortDescription();
 	}
 
+	public GameMinDTO(Long id, String title, Integer year, String imgUrl, String shortDescription) {
+		this.id = id;
+		this.title = title;
+		this.year = year;
+		this.imgUrl = imgUrl;
+		this.shortDescription = shortDescription;
+	}
+
 	// construtor para instanciar um obj contendo a projeção da consulta SQL
 	public GameMinDTO(GameMinProjection projection) {
 		id = projection.getId();
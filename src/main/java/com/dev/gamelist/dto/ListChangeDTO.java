@@ -0,0 +1,23 @@
+package com.dev.gamelist.dto;
+
+public class ListChangeDTO {
+
+	private Long gameId;
+	private Integer position;
+
+	public ListChangeDTO() {
+	}
+
+	public ListChangeDTO(Long gameId, Integer position) {
+		this.gameId = gameId;
+		this.position = position;
+	}
+
+	public Long getGameId() {
+		return gameId;
+	}
+
+	public Integer getPosition() {
+		return position;
+	}
+}
@@ -0,0 +1,47 @@
+package com.dev.gamelist.dto;
+
+import java.util.List;
+
+// resposta da sincronização incremental: as novas posições dos jogos que mudaram desde a versão
+// informada, ou a lista completa (full = true) quando o log dessas mudanças já foi compactado
+public class ListDeltaDTO {
+
+	private Long version;
+	private boolean full;
+	private List<ListChangeDTO> changes;
+	private List<GameMinDTO> games;
+
+	public ListDeltaDTO() {
+	}
+
+	public ListDeltaDTO(Long version, boolean full, List<ListChangeDTO> changes, List<GameMinDTO> games) {
+		this.version = version;
+		this.full = full;
+		this.changes = changes;
+		this.games = games;
+	}
+
+	public static ListDeltaDTO changes(Long version, List<ListChangeDTO> changes) {
+		return new ListDeltaDTO(version, false, changes, null);
+	}
+
+	public static ListDeltaDTO full(Long version, List<GameMinDTO> games) {
+		return new ListDeltaDTO(version, true, null, games);
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public boolean isFull() {
+		return full;
+	}
+
+	public List<ListChangeDTO> getChanges() {
+		return changes;
+	}
+
+	public List<GameMinDTO> getGames() {
+		return games;
+	}
+}
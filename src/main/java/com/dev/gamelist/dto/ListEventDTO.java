@@ -0,0 +1,29 @@
+package com.dev.gamelist.dto;
+
+public class ListEventDTO {
+
+	private Integer source;
+	private Integer destination;
+	private Long version;
+
+	public ListEventDTO() {
+	}
+
+	public ListEventDTO(Integer source, Integer destination, Long version) {
+		this.source = source;
+		this.destination = destination;
+		this.version = version;
+	}
+
+	public Integer getSource() {
+		return source;
+	}
+
+	public Integer getDestination() {
+		return destination;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+}
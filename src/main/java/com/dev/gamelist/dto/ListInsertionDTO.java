@@ -0,0 +1,25 @@
+package com.dev.gamelist.dto;
+
+import java.util.List;
+
+public class ListInsertionDTO {
+
+	private Integer position;
+	private List<Long> gameIds;
+
+	public Integer getPosition() {
+		return position;
+	}
+
+	public void setPosition(Integer position) {
+		this.position = position;
+	}
+
+	public List<Long> getGameIds() {
+		return gameIds;
+	}
+
+	public void setGameIds(List<Long> gameIds) {
+		this.gameIds = gameIds;
+	}
+}
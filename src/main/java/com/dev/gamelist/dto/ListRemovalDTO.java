@@ -0,0 +1,16 @@
+package com.dev.gamelist.dto;
+
+import java.util.List;
+
+public class ListRemovalDTO {
+
+	private List<Long> gameIds;
+
+	public List<Long> getGameIds() {
+		return gameIds;
+	}
+
+	public void setGameIds(List<Long> gameIds) {
+		this.gameIds = gameIds;
+	}
+}
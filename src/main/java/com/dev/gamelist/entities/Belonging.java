@@ -4,10 +4,11 @@ import java.util.Objects;
 
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "tb_belonging")
+@Table(name = "tb_belonging", indexes = @Index(name = "idx_belonging_list_position", columnList = "list_id, position"))
 public class Belonging {
 	
 	@EmbeddedId
@@ -4,13 +4,16 @@ import java.util.Objects;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "tb_game")
+@EntityListeners(GameEntityListener.class)
 public class Game {
 
 	@Id
@@ -27,6 +30,12 @@ public class Game {
 	private String shortDescription;
 	@Column(columnDefinition = "TEXT")
 	private String longDescription;
+	// incrementada a cada UPDATE (pelo Hibernate e, no PostgreSQL, por trigger nas alterações fora da aplicação);
+	// entra na assinatura do catálogo usada para detectar divergências com o snapshot. Por ser @Version, também
+	// ativa o bloqueio otimista: gravar uma instância lida antes de outra alteração falha com OptimisticLockException
+	@Version
+	@Column(name = "row_version", columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+	private Long rowVersion = 0L;
 
 	public Game() {
 	}
@@ -116,6 +125,14 @@ public class Game {
 		this.longDescription = longDescription;
 	}
 
+	public Long getRowVersion() {
+		return rowVersion;
+	}
+
+	public void setRowVersion(Long rowVersion) {
+		this.rowVersion = rowVersion;
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(id);
@@ -0,0 +1,29 @@
+package com.dev.gamelist.entities;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.dev.gamelist.events.GameChangedEvent;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// listener JPA que avisa o restante da aplicação sobre mudanças no catálogo;
+// os consumidores usam @TransactionalEventListener para reagir apenas após o commit
+public class GameEntityListener {
+
+	@Autowired
+	private ApplicationEventPublisher publisher;
+
+	@PostPersist
+	@PostUpdate
+	public void onSave(Game game) {
+		publisher.publishEvent(new GameChangedEvent(game, false));
+	}
+
+	@PostRemove
+	public void onRemove(Game game) {
+		publisher.publishEvent(new GameChangedEvent(game, true));
+	}
+}
@@ -2,6 +2,7 @@ package com.dev.gamelist.entities;
 
 import java.util.Objects;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -16,6 +17,16 @@ public class GameList {
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 	private String name;
+	// quantidade de jogos da lista, mantida junto às inserções/remoções para evitar COUNT(*) em tb_belonging
+	@Column(name = "game_count", nullable = false)
+	private Integer gameCount = 0;
+	// incrementada a cada alteração na ordem da lista; as mudanças de cada versão ficam em tb_list_change
+	@Column(nullable = false)
+	private Long version = 0L;
+	// última sequência do journal de reordenações (modo write-behind) já gravada nesta lista;
+	// mantida apenas pelo flusher via JDBC, por isso nunca é escrita pelo JPA
+	@Column(name = "flushed_seq", insertable = false, updatable = false)
+	private Long flushedSequence;
 	
 	public GameList() {
 	}
@@ -41,6 +52,30 @@ public class GameList {
 		this.name = name;
 	}
 
+	public Integer getGameCount() {
+		return gameCount;
+	}
+
+	public void setGameCount(Integer gameCount) {
+		this.gameCount = gameCount;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
+	public Long getFlushedSequence() {
+		return flushedSequence;
+	}
+
+	public void setFlushedSequence(Long flushedSequence) {
+		this.flushedSequence = flushedSequence;
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(id);
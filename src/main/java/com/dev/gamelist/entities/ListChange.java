@@ -0,0 +1,97 @@
+package com.dev.gamelist.entities;
+
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// registro de uma mudança de posição de um jogo em uma lista, usado na sincronização incremental
+@Entity
+@Table(name = "tb_list_change", indexes = @Index(name = "idx_list_change_list_version", columnList = "list_id, version"))
+public class ListChange {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	@Column(name = "list_id", nullable = false)
+	private Long listId;
+	@Column(nullable = false)
+	private Long version;
+	@Column(name = "game_id", nullable = false)
+	private Long gameId;
+	@Column(nullable = false)
+	private Integer position;
+
+	public ListChange() {
+	}
+
+	public ListChange(Long id, Long listId, Long version, Long gameId, Integer position) {
+		this.id = id;
+		this.listId = listId;
+		this.version = version;
+		this.gameId = gameId;
+		this.position = position;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getListId() {
+		return listId;
+	}
+
+	public void setListId(Long listId) {
+		this.listId = listId;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
+	public Long getGameId() {
+		return gameId;
+	}
+
+	public void setGameId(Long gameId) {
+		this.gameId = gameId;
+	}
+
+	public Integer getPosition() {
+		return position;
+	}
+
+	public void setPosition(Integer position) {
+		this.position = position;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ListChange other = (ListChange) obj;
+		return Objects.equals(id, other.id);
+	}
+}
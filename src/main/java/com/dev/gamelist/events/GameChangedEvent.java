@@ -0,0 +1,23 @@
+package com.dev.gamelist.events;
+
+import com.dev.gamelist.entities.Game;
+
+// publicado quando um jogo do catálogo é inserido, alterado ou removido
+public class GameChangedEvent {
+
+	private final Game game;
+	private final boolean removed;
+
+	public GameChangedEvent(Game game, boolean removed) {
+		this.game = game;
+		this.removed = removed;
+	}
+
+	public Game getGame() {
+		return game;
+	}
+
+	public boolean isRemoved() {
+		return removed;
+	}
+}
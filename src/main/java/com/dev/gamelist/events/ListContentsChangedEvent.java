@@ -0,0 +1,22 @@
+package com.dev.gamelist.events;
+
+// publicado quando jogos são inseridos em uma lista ou removidos dela; ao contrário de uma reordenação,
+// a mudança não pode ser descrita por um par de índices e quem mantém a lista em cache deve recarregá-la
+public class ListContentsChangedEvent {
+
+	private final Long listId;
+	private final Long version;
+
+	public ListContentsChangedEvent(Long listId, Long version) {
+		this.listId = listId;
+		this.version = version;
+	}
+
+	public Long getListId() {
+		return listId;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+}
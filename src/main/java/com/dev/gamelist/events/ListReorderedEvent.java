@@ -0,0 +1,34 @@
+package com.dev.gamelist.events;
+
+// publicado quando um jogo é reposicionado dentro de uma lista
+public class ListReorderedEvent {
+
+	private final Long listId;
+	private final int sourceIndex;
+	private final int destinationIndex;
+	// versão da lista após a reordenação; null no modo write-behind, em que a versão só é atribuída na gravação
+	private final Long version;
+
+	public ListReorderedEvent(Long listId, int sourceIndex, int destinationIndex, Long version) {
+		this.listId = listId;
+		this.sourceIndex = sourceIndex;
+		this.destinationIndex = destinationIndex;
+		this.version = version;
+	}
+
+	public Long getListId() {
+		return listId;
+	}
+
+	public int getSourceIndex() {
+		return sourceIndex;
+	}
+
+	public int getDestinationIndex() {
+		return destinationIndex;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+}
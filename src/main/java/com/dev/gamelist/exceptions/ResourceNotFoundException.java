@@ -6,4 +6,10 @@ public class ResourceNotFoundException extends RuntimeException {
 	public ResourceNotFoundException(String message) {
         super(message);
     }
+
+	// sem stack trace: usado nos 404 respondidos pelo filtro de existência, em que não há causa a rastrear
+	// e o custo de preencher a pilha dominaria o tratamento da requisição
+	public ResourceNotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
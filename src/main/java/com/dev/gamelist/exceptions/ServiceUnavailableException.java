@@ -0,0 +1,17 @@
+package com.dev.gamelist.exceptions;
+
+public class ServiceUnavailableException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    // tempo sugerido ao cliente (header Retry-After) antes de tentar novamente
+    private final long retryAfterSeconds;
+
+	public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
@@ -0,0 +1,7 @@
+package com.dev.gamelist.projections;
+
+public interface BelongingProjection {
+
+	Long getListId();
+	Long getGameId();
+}
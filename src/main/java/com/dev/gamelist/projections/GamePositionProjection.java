@@ -0,0 +1,7 @@
+package com.dev.gamelist.projections;
+
+public interface GamePositionProjection {
+
+	Long getGameId();
+	Integer getPosition();
+}
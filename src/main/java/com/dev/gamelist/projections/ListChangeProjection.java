@@ -0,0 +1,7 @@
+package com.dev.gamelist.projections;
+
+public interface ListChangeProjection {
+
+	Long getGameId();
+	Integer getPosition();
+}
@@ -1,15 +1,80 @@
 package com.dev.gamelist.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import com.dev.gamelist.entities.GameList;
+import com.dev.gamelist.projections.BelongingProjection;
+import com.dev.gamelist.projections.GamePositionProjection;
+
+import jakarta.persistence.LockModeType;
 
 public interface GameListRepository extends JpaRepository<GameList, Long> {
 
+	// apenas os IDs das listas, usados para montar o filtro de existência
+	@Query("SELECT obj.id FROM GameList obj")
+	List<Long> findAllIds();
+
+	// carrega a lista bloqueando a linha até o fim da transação, serializando as alterações de versão
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT obj FROM GameList obj WHERE obj.id = :listId")
+	Optional<GameList> findByIdForUpdate(Long listId);
+
 	// atualiza o número da posição de um game específico de uma lista específica
 	@Modifying
 	@Query(nativeQuery = true, value = "UPDATE tb_belonging SET position = :newPosition WHERE list_id = :listId AND game_id=:gameId")
 	void updateBelongingPosition(Long listId, Long gameId, Integer newPosition);
+
+	// move o jogo da posição de origem para a de destino deslocando as posições intermediárias em um único UPDATE
+	@Modifying
+	@Query(nativeQuery = true, value = """
+			UPDATE tb_belonging SET position = CASE
+				WHEN position = :sourceIndex THEN :destinationIndex
+				WHEN :sourceIndex < :destinationIndex THEN position - 1
+				ELSE position + 1 END
+			WHERE list_id = :listId AND position BETWEEN :minIndex AND :maxIndex
+				""")
+	int shiftBelongingPositions(Long listId, Integer sourceIndex, Integer destinationIndex, Integer minIndex, Integer maxIndex);
+
+	// abre espaço para "offset" jogos a partir da posição informada, deslocando as seguintes em um único UPDATE
+	@Modifying
+	@Query(nativeQuery = true, value = """
+			UPDATE tb_belonging SET position = position + :offset
+			WHERE list_id = :listId AND position >= :fromPosition
+				""")
+	int shiftPositionsFrom(Long listId, Integer fromPosition, Integer offset);
+
+	// recua cada jogo a partir de "fromPosition" pelo número de jogos a remover abaixo dele, em um único UPDATE;
+	// executado antes do DELETE (a subconsulta enxerga as posições anteriores ao UPDATE)
+	@Modifying
+	@Query(nativeQuery = true, value = """
+			UPDATE tb_belonging SET position = position - (
+				SELECT COUNT(*) FROM tb_belonging removed
+				WHERE removed.list_id = :listId AND removed.game_id IN (:gameIds)
+					AND removed.position < tb_belonging.position)
+			WHERE list_id = :listId AND position > :fromPosition
+				""")
+	int closePositionGaps(Long listId, Collection<Long> gameIds, Integer fromPosition);
+
+	// posições atuais dos jogos informados que pertencem à lista
+	@Query(nativeQuery = true, value = """
+			SELECT game_id AS gameId, position
+			FROM tb_belonging
+			WHERE list_id = :listId AND game_id IN (:gameIds)
+				""")
+	List<GamePositionProjection> searchPositions(Long listId, Collection<Long> gameIds);
+
+	// todas as associações lista/jogo, agrupadas por lista e na ordem das posições
+	@Query(nativeQuery = true, value = """
+			SELECT list_id AS listId, game_id AS gameId
+			FROM tb_belonging
+			ORDER BY list_id, position
+				""")
+	List<BelongingProjection> searchAllBelongings();
 }
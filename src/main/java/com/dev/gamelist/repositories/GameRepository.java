@@ -1,5 +1,6 @@
 package com.dev.gamelist.repositories;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +10,14 @@ import com.dev.gamelist.entities.Game;
 import com.dev.gamelist.projections.GameMinProjection;
 
 public interface GameRepository extends JpaRepository<Game, Long>{
+
+	// apenas os IDs do catálogo, usados para montar o filtro de existência
+	@Query("SELECT obj.id FROM Game obj")
+	List<Long> findAllIds();
+
+	// IDs informados que existem no catálogo
+	@Query("SELECT obj.id FROM Game obj WHERE obj.id IN :ids")
+	List<Long> findExistingIds(Collection<Long> ids);
 	
 	@Query(nativeQuery = true, value = """
 			SELECT tb_game.id, tb_game.title, tb_game.game_year AS gameYear, tb_game.img_url AS imgUrl,
@@ -19,4 +28,16 @@ public interface GameRepository extends JpaRepository<Game, Long>{
 			ORDER BY tb_belonging.position
 				""")
 	List<GameMinProjection> searchByList(Long listId);
+
+	// retorna apenas a janela de posições [fromPosition, toPosition) da lista, em ordem
+	@Query(nativeQuery = true, value = """
+			SELECT tb_game.id, tb_game.title, tb_game.game_year AS gameYear, tb_game.img_url AS imgUrl,
+			tb_game.short_description AS shortDescription, tb_belonging.position
+			FROM tb_game
+			INNER JOIN tb_belonging ON tb_game.id = tb_belonging.game_id
+			WHERE tb_belonging.list_id = :listId
+			AND tb_belonging.position >= :fromPosition AND tb_belonging.position < :toPosition
+			ORDER BY tb_belonging.position
+				""")
+	List<GameMinProjection> searchByListRange(Long listId, Integer fromPosition, Integer toPosition);
 }
@@ -0,0 +1,49 @@
+package com.dev.gamelist.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.dev.gamelist.entities.ListChange;
+import com.dev.gamelist.projections.ListChangeProjection;
+
+public interface ListChangeRepository extends JpaRepository<ListChange, Long> {
+
+	// registra a nova posição de todos os jogos de um intervalo da lista em um único INSERT ... SELECT
+	@Modifying
+	@Query(nativeQuery = true, value = """
+			INSERT INTO tb_list_change (list_id, version, game_id, position)
+			SELECT list_id, :version, game_id, position
+			FROM tb_belonging
+			WHERE list_id = :listId AND position BETWEEN :minIndex AND :maxIndex
+				""")
+	int insertPositionChanges(Long listId, Long version, Integer minIndex, Integer maxIndex);
+
+	// mudanças posteriores a "sinceVersion" e até "version", na ordem em que foram feitas; o limite superior
+	// exclui as reordenações confirmadas depois que a versão da resposta foi lida
+	@Query(nativeQuery = true, value = """
+			SELECT game_id AS gameId, position
+			FROM tb_list_change
+			WHERE list_id = :listId AND version > :sinceVersion AND version <= :version
+			ORDER BY version, id
+				""")
+	List<ListChangeProjection> searchChangesSince(Long listId, Long sinceVersion, Long version);
+
+	// versão mais antiga ainda presente no log da lista (null se o log estiver vazio)
+	@Query("SELECT MIN(obj.version) FROM ListChange obj WHERE obj.listId = :listId")
+	Long findOldestVersion(Long listId);
+
+	@Modifying
+	@Query("DELETE FROM ListChange obj WHERE obj.listId = :listId")
+	int deleteByListId(Long listId);
+
+	// descarta, em todas as listas, as mudanças mais antigas que as últimas "retainedVersions" versões
+	@Modifying
+	@Query(nativeQuery = true, value = """
+			DELETE FROM tb_list_change
+			WHERE version <= (SELECT l.version FROM tb_game_list l WHERE l.id = tb_list_change.list_id) - :retainedVersions
+				""")
+	int compact(Long retainedVersions);
+}
@@ -0,0 +1,74 @@
+package com.dev.gamelist.services;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// filtro de Bloom sobre IDs long: "não contém" é definitivo, "pode conter" erra com a taxa de falsos
+// positivos calculada no dimensionamento. Inserções concorrentes são seguras (bits em AtomicLongArray)
+public final class BloomFilter {
+
+	private final AtomicLongArray words;
+	private final long bitSize;
+	private final int hashCount;
+	private final AtomicLong bitsSet = new AtomicLong();
+
+	// dimensiona o filtro para "capacity" elementos com a taxa de falsos positivos desejada
+	public BloomFilter(long capacity, double falsePositiveRate) {
+		long n = Math.max(capacity, 1);
+		long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		int wordCount = (int) Math.max(1, (bits + 63) >>> 6);
+		this.words = new AtomicLongArray(wordCount);
+		this.bitSize = (long) wordCount << 6;
+		this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+	}
+
+	public void add(long id) {
+		long hash = mix(id);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 1; i <= hashCount; i++) {
+			long bit = index(h1 + i * h2);
+			int word = (int) (bit >>> 6);
+			long mask = 1L << bit;
+			long previous = words.getAndAccumulate(word, mask, (current, m) -> current | m);
+			if ((previous & mask) == 0) {
+				bitsSet.incrementAndGet();
+			}
+		}
+	}
+
+	public boolean mightContain(long id) {
+		long hash = mix(id);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 1; i <= hashCount; i++) {
+			long bit = index(h1 + i * h2);
+			if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// taxa de falsos positivos atual, estimada pela fração de bits ligados: (bits ligados / total) ^ k
+	public double expectedFalsePositiveRate() {
+		return Math.pow((double) bitsSet.get() / bitSize, hashCount);
+	}
+
+	public long memoryBytes() {
+		return bitSize / 8;
+	}
+
+	private long index(int combinedHash) {
+		// double hashing (Kirsch-Mitzenmacher): h1 + i * h2 simula k funções de hash independentes
+		return (combinedHash & Integer.MAX_VALUE) % bitSize;
+	}
+
+	// finalizador do SplitMix64: espalha IDs sequenciais por todos os bits
+	private static long mix(long value) {
+		long z = value + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,298 @@
+package com.dev.gamelist.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.dev.gamelist.dto.GameDTO;
+import com.dev.gamelist.dto.GameMinDTO;
+import com.dev.gamelist.entities.Game;
+
+// arquivo binário versionado com o catálogo e a ordem de todas as listas, lido via memory-map.
+//
+// layout (big-endian):
+//   cabeçalho   magic (4) | versão do formato (4) | assinatura do BD (8) | qtd. jogos (4) | qtd. listas (4)
+//               | offset do índice de jogos (4) | offset do índice de listas (4)
+//   jogos       por jogo: ano (4) | nota (8) | 6 textos (tamanho (4) + UTF-8; tamanho -1 = nulo) na ordem
+//               título, gênero, plataformas, imgUrl, descrição curta, descrição longa
+//   listas      por lista: IDs dos jogos (8 cada) na ordem das posições
+//   índices     jogos: ID (8) | offset (4), ordenado por ID; listas: ID (8) | offset (4) | tamanho (4), ordenado por ID
+//
+// os campos de cada jogo só são decodificados quando pedidos; os textos não usados são pulados pelo tamanho
+public final class CatalogSnapshotFile {
+
+	public static final int MAGIC = 0x474C534E; // "GLSN"
+	public static final int FORMAT_VERSION = 1;
+
+	private static final int HEADER_SIZE = 32;
+	private static final int GAME_INDEX_ENTRY = 12;
+	private static final int LIST_INDEX_ENTRY = 16;
+	private static final int NULL_INT = Integer.MIN_VALUE;
+
+	private static final int TITLE = 0;
+	private static final int GENRE = 1;
+	private static final int PLATFORMS = 2;
+	private static final int IMG_URL = 3;
+	private static final int SHORT_DESCRIPTION = 4;
+	private static final int LONG_DESCRIPTION = 5;
+
+	private final ByteBuffer buffer;
+	private final long fingerprint;
+	private final int gameCount;
+	private final int listCount;
+	private final int gameIndexOffset;
+	private final int listIndexOffset;
+
+	private CatalogSnapshotFile(ByteBuffer buffer) throws IOException {
+		this.buffer = buffer;
+		if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+			throw new IOException("Arquivo de snapshot do catálogo inválido.");
+		}
+		if (buffer.getInt(4) != FORMAT_VERSION) {
+			throw new IOException("Versão de snapshot do catálogo não suportada: " + buffer.getInt(4));
+		}
+		this.fingerprint = buffer.getLong(8);
+		this.gameCount = buffer.getInt(16);
+		this.listCount = buffer.getInt(20);
+		this.gameIndexOffset = buffer.getInt(24);
+		this.listIndexOffset = buffer.getInt(28);
+	}
+
+	public static CatalogSnapshotFile open(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return new CatalogSnapshotFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	public long getFingerprint() {
+		return fingerprint;
+	}
+
+	public GameDTO findGame(long id) {
+		int record = gameRecord(id);
+		if (record < 0) {
+			return null;
+		}
+		GameDTO dto = new GameDTO();
+		dto.setId(id);
+		dto.setYear(year(record));
+		dto.setScore(score(record));
+		dto.setTitle(text(record, TITLE));
+		dto.setGenre(text(record, GENRE));
+		dto.setPlatforms(text(record, PLATFORMS));
+		dto.setImgUrl(text(record, IMG_URL));
+		dto.setShortDescription(text(record, SHORT_DESCRIPTION));
+		dto.setLongDescription(text(record, LONG_DESCRIPTION));
+		return dto;
+	}
+
+	public Integer countGames(long listId) {
+		int entry = listEntry(listId);
+		return entry < 0 ? null : buffer.getInt(entry + 12);
+	}
+
+	// retorna a janela de posições [from, to) da lista, ou null se a lista não estiver no snapshot
+	public List<GameMinDTO> findByListWindow(long listId, int from, int to) {
+		int entry = listEntry(listId);
+		if (entry < 0) {
+			return null;
+		}
+		int offset = buffer.getInt(entry + 8);
+		int end = Math.min(to, buffer.getInt(entry + 12));
+		List<GameMinDTO> result = new ArrayList<>(Math.max(0, end - from));
+		for (int position = from; position < end; position++) {
+			long gameId = buffer.getLong(offset + position * 8);
+			int record = gameRecord(gameId);
+			if (record >= 0) {
+				result.add(new GameMinDTO(gameId, text(record, TITLE), year(record), text(record, IMG_URL),
+						text(record, SHORT_DESCRIPTION)));
+			}
+		}
+		return result;
+	}
+
+	public List<GameMinDTO> findByList(long listId) {
+		return findByListWindow(listId, 0, Integer.MAX_VALUE);
+	}
+
+	// todos os jogos na ordem dos IDs, como entidades não gerenciadas, para a carga inicial dos serviços em memória
+	public List<Game> games() {
+		List<Game> games = new ArrayList<>(gameCount);
+		for (int i = 0; i < gameCount; i++) {
+			int entry = gameIndexOffset + i * GAME_INDEX_ENTRY;
+			int record = buffer.getInt(entry + 8);
+			games.add(new Game(buffer.getLong(entry), text(record, TITLE), year(record), text(record, GENRE),
+					text(record, PLATFORMS), score(record), text(record, IMG_URL), text(record, SHORT_DESCRIPTION),
+					text(record, LONG_DESCRIPTION)));
+		}
+		return games;
+	}
+
+	public List<Long> gameIds() {
+		return ids(gameIndexOffset, gameCount, GAME_INDEX_ENTRY);
+	}
+
+	public List<Long> listIds() {
+		return ids(listIndexOffset, listCount, LIST_INDEX_ENTRY);
+	}
+
+	private List<Long> ids(int indexOffset, int count, int entrySize) {
+		List<Long> ids = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			ids.add(buffer.getLong(indexOffset + i * entrySize));
+		}
+		return ids;
+	}
+
+	// busca binária no índice de jogos
+	private int gameRecord(long id) {
+		int low = 0;
+		int high = gameCount - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int entry = gameIndexOffset + mid * GAME_INDEX_ENTRY;
+			long midId = buffer.getLong(entry);
+			if (midId < id) {
+				low = mid + 1;
+			} else if (midId > id) {
+				high = mid - 1;
+			} else {
+				return buffer.getInt(entry + 8);
+			}
+		}
+		return -1;
+	}
+
+	// busca binária no índice de listas, retornando o offset da entrada no índice
+	private int listEntry(long listId) {
+		int low = 0;
+		int high = listCount - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int entry = listIndexOffset + mid * LIST_INDEX_ENTRY;
+			long midId = buffer.getLong(entry);
+			if (midId < listId) {
+				low = mid + 1;
+			} else if (midId > listId) {
+				high = mid - 1;
+			} else {
+				return entry;
+			}
+		}
+		return -1;
+	}
+
+	private Integer year(int record) {
+		int year = buffer.getInt(record);
+		return year == NULL_INT ? null : year;
+	}
+
+	private Double score(int record) {
+		double score = buffer.getDouble(record + 4);
+		return Double.isNaN(score) ? null : score;
+	}
+
+	private String text(int record, int field) {
+		int position = record + 12;
+		for (int i = 0; i < field; i++) {
+			position += 4 + Math.max(buffer.getInt(position), 0);
+		}
+		int length = buffer.getInt(position);
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(position + 4, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	// grava o snapshot em um arquivo temporário e o move sobre o destino de forma atômica,
+	// para que um arquivo já mapeado por outro leitor nunca seja visto pela metade
+	public static void write(Path path, long fingerprint, List<Game> games, Map<Long, long[]> lists) throws IOException {
+		List<Game> sortedGames = new ArrayList<>(games);
+		sortedGames.sort(Comparator.comparing(Game::getId));
+		Map<Long, long[]> sortedLists = new TreeMap<>(lists);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.write(new byte[HEADER_SIZE]);
+
+		int[] gameOffsets = new int[sortedGames.size()];
+		for (int i = 0; i < sortedGames.size(); i++) {
+			Game game = sortedGames.get(i);
+			gameOffsets[i] = out.size();
+			out.writeInt(game.getYear() != null ? game.getYear() : NULL_INT);
+			out.writeDouble(game.getScore() != null ? game.getScore() : Double.NaN);
+			writeText(out, game.getTitle());
+			writeText(out, game.getGenre());
+			writeText(out, game.getPlatforms());
+			writeText(out, game.getImgUrl());
+			writeText(out, game.getShortDescription());
+			writeText(out, game.getLongDescription());
+		}
+
+		int[] listOffsets = new int[sortedLists.size()];
+		int l = 0;
+		for (long[] order : sortedLists.values()) {
+			listOffsets[l++] = out.size();
+			for (long gameId : order) {
+				out.writeLong(gameId);
+			}
+		}
+
+		int gameIndexOffset = out.size();
+		for (int i = 0; i < sortedGames.size(); i++) {
+			out.writeLong(sortedGames.get(i).getId());
+			out.writeInt(gameOffsets[i]);
+		}
+
+		int listIndexOffset = out.size();
+		l = 0;
+		for (Map.Entry<Long, long[]> list : sortedLists.entrySet()) {
+			out.writeLong(list.getKey());
+			out.writeInt(listOffsets[l++]);
+			out.writeInt(list.getValue().length);
+		}
+		out.flush();
+
+		ByteBuffer content = ByteBuffer.wrap(bytes.toByteArray());
+		content.putInt(0, MAGIC).putInt(4, FORMAT_VERSION).putLong(8, fingerprint)
+				.putInt(16, sortedGames.size()).putInt(20, sortedLists.size())
+				.putInt(24, gameIndexOffset).putInt(28, listIndexOffset);
+
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (content.hasRemaining()) {
+				channel.write(content);
+			}
+			channel.force(true);
+		}
+		Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static void writeText(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+}
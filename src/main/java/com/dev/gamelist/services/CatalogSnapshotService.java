@@ -0,0 +1,291 @@
+package com.dev.gamelist.services;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dev.gamelist.dto.GameDTO;
+import com.dev.gamelist.dto.GameMinDTO;
+import com.dev.gamelist.entities.Game;
+import com.dev.gamelist.events.GameChangedEvent;
+import com.dev.gamelist.events.ListContentsChangedEvent;
+import com.dev.gamelist.events.ListReorderedEvent;
+import com.dev.gamelist.projections.BelongingProjection;
+import com.dev.gamelist.repositories.GameListRepository;
+import com.dev.gamelist.repositories.GameRepository;
+
+import jakarta.annotation.PostConstruct;
+
+// serve leituras a partir do snapshot do catálogo mapeado em memória, permitindo atender requisições
+// logo após a inicialização sem aquecer caches no BD; em segundo plano, compara a assinatura do BD
+// com a do snapshot e regrava o arquivo quando há divergência. Um snapshot que divergia do BD na
+// inicialização não é usado até ser regravado
+@Service
+public class CatalogSnapshotService {
+
+	private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+	@Autowired
+	private GameRepository gameRepository;
+
+	@Autowired
+	private GameListRepository gameListRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ListOrderBuffer listOrderBuffer;
+
+	@Value("${snapshot.enabled}")
+	private boolean enabled;
+
+	@Value("${snapshot.path}")
+	private String snapshotPath;
+
+	private volatile CatalogSnapshotFile snapshot;
+	// a assinatura do snapshot conferia com a do BD na inicialização (ou ele foi regravado a partir do BD)
+	private volatile boolean verified;
+
+	// jogos e listas alterados depois do snapshot atual são lidos do BD até a próxima regravação;
+	// o valor é o número de sequência da alteração, usado para não descartar alterações feitas durante uma regravação
+	private final AtomicLong changeSequence = new AtomicLong();
+	private final Map<Long, Long> staleGames = new ConcurrentHashMap<>();
+	private final Map<Long, Long> staleLists = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	void init() {
+		if (!enabled) {
+			return;
+		}
+		Path path = Path.of(snapshotPath);
+		if (Files.exists(path)) {
+			try {
+				snapshot = CatalogSnapshotFile.open(path);
+			} catch (IOException e) {
+				logger.warn("Snapshot do catálogo ignorado; será recriado a partir do BD.", e);
+			}
+		}
+		CatalogSnapshotFile current = snapshot;
+		if (current != null) {
+			verified = catalogFingerprint() == current.getFingerprint();
+			if (!verified) {
+				logger.info("Snapshot do catálogo diverge do BD; as leituras vão ao BD até a próxima regravação.");
+			}
+		}
+	}
+
+	// catálogo completo para a carga inicial dos serviços em memória; null quando o snapshot não existe,
+	// divergia do BD ou já tem alterações posteriores, e nesse caso o chamador lê do BD
+	public List<Game> findAllGames() {
+		CatalogSnapshotFile current = verifiedSnapshot();
+		return current != null ? current.games() : null;
+	}
+
+	public List<Long> findAllGameIds() {
+		CatalogSnapshotFile current = verifiedSnapshot();
+		return current != null ? current.gameIds() : null;
+	}
+
+	public List<Long> findAllListIds() {
+		CatalogSnapshotFile current = verifiedSnapshot();
+		return current != null ? current.listIds() : null;
+	}
+
+	private CatalogSnapshotFile verifiedSnapshot() {
+		if (!staleGames.isEmpty() || !staleLists.isEmpty()) {
+			return null;
+		}
+		return servedSnapshot();
+	}
+
+	// snapshot que pode atender leituras: null se não existe ou se divergia do BD e ainda não foi regravado
+	private CatalogSnapshotFile servedSnapshot() {
+		return verified ? snapshot : null;
+	}
+
+	public GameDTO findGame(Long id) {
+		CatalogSnapshotFile current = servedSnapshot();
+		if (current == null || staleGames.containsKey(id)) {
+			return null;
+		}
+		return current.findGame(id);
+	}
+
+	public Integer countGames(Long listId) {
+		CatalogSnapshotFile current = servedSnapshot();
+		if (current == null || staleLists.containsKey(listId)) {
+			return null;
+		}
+		return current.countGames(listId);
+	}
+
+	public List<GameMinDTO> findByList(Long listId) {
+		CatalogSnapshotFile current = servedSnapshot();
+		if (current == null || staleLists.containsKey(listId) || !staleGames.isEmpty()) {
+			return null;
+		}
+		return current.findByList(listId);
+	}
+
+	public List<GameMinDTO> findByListWindow(Long listId, int from, int to) {
+		CatalogSnapshotFile current = servedSnapshot();
+		if (current == null || staleLists.containsKey(listId) || !staleGames.isEmpty()) {
+			return null;
+		}
+		return current.findByListWindow(listId, from, to);
+	}
+
+	// marca como desatualizado assim que a alteração acontece, e novamente após o commit,
+	// para que uma regravação concorrente que leu o BD antes do commit não a dê por incorporada
+	@EventListener
+	public void onGameChanged(GameChangedEvent event) {
+		staleGames.put(event.getGame().getId(), changeSequence.incrementAndGet());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void afterGameChanged(GameChangedEvent event) {
+		onGameChanged(event);
+	}
+
+	@EventListener
+	public void onListReordered(ListReorderedEvent event) {
+		staleLists.put(event.getListId(), changeSequence.incrementAndGet());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void afterListReordered(ListReorderedEvent event) {
+		onListReordered(event);
+	}
+
+	@EventListener
+	public void onListContentsChanged(ListContentsChangedEvent event) {
+		staleLists.put(event.getListId(), changeSequence.incrementAndGet());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void afterListContentsChanged(ListContentsChangedEvent event) {
+		onListContentsChanged(event);
+	}
+
+	@Scheduled(fixedDelayString = "${snapshot.reconcile-interval-ms}")
+	public synchronized void reconcile() {
+		if (!enabled) {
+			return;
+		}
+		long sequence = changeSequence.get();
+		TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+		try {
+			long fingerprint = catalogFingerprint();
+			CatalogSnapshotFile current = snapshot;
+			if (current != null && current.getFingerprint() == fingerprint && staleGames.isEmpty() && staleLists.isEmpty()) {
+				verified = true;
+				return;
+			}
+
+			List<Game> games = new ArrayList<>();
+			Map<Long, long[]> lists = new LinkedHashMap<>();
+			readOnlyTransaction.executeWithoutResult(status -> {
+				games.addAll(gameRepository.findAll());
+				lists.putAll(groupByList(gameListRepository.searchAllBelongings()));
+				// listas vazias também entram, para que o snapshot tenha todos os IDs de listas existentes
+				for (Long listId : gameListRepository.findAllIds()) {
+					lists.putIfAbsent(listId, new long[0]);
+				}
+			});
+
+			Path path = Path.of(snapshotPath);
+			CatalogSnapshotFile.write(path, fingerprint, games, lists);
+			snapshot = CatalogSnapshotFile.open(path);
+			verified = true;
+			staleGames.values().removeIf(changed -> changed <= sequence);
+			// listas ainda mantidas em memória pelo modo write-behind podem ter reordenações não gravadas no BD
+			staleLists.entrySet().removeIf(entry -> entry.getValue() <= sequence && !listOrderBuffer.isHot(entry.getKey()));
+			logger.info("Snapshot do catálogo regravado: {} jogos, {} listas.", games.size(), lists.size());
+		} catch (IOException | RuntimeException e) {
+			logger.error("Falha ao reconciliar o snapshot do catálogo com o BD.", e);
+		}
+	}
+
+	// SHA-256 (primeiros 8 bytes) do conteúdo de todas as linhas de jogos, listas e associações, lidas em
+	// ordem de chave; cada valor entra com o tamanho na frente, para que linhas diferentes não se confundam
+	private long catalogFingerprint() {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		RowCallbackHandler hashRow = rs -> {
+			int columns = rs.getMetaData().getColumnCount();
+			for (int i = 1; i <= columns; i++) {
+				update(digest, rs.getString(i));
+			}
+		};
+		TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+		readOnlyTransaction.executeWithoutResult(status -> {
+			update(digest, "tb_game");
+			jdbcTemplate.query("SELECT id, title, game_year, genre, platforms, score, img_url, short_description, "
+					+ "long_description, row_version FROM tb_game ORDER BY id", hashRow);
+			update(digest, "tb_game_list");
+			jdbcTemplate.query("SELECT id FROM tb_game_list ORDER BY id", hashRow);
+			update(digest, "tb_belonging");
+			jdbcTemplate.query("SELECT list_id, game_id, position FROM tb_belonging ORDER BY list_id, position", hashRow);
+		});
+		return ByteBuffer.wrap(digest.digest()).getLong();
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		if (value == null) {
+			digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(-1).array());
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+		digest.update(bytes);
+	}
+
+	private static Map<Long, long[]> groupByList(List<BelongingProjection> belongings) {
+		Map<Long, long[]> lists = new LinkedHashMap<>();
+		int start = 0;
+		for (int i = 1; i <= belongings.size(); i++) {
+			if (i == belongings.size() || !belongings.get(i).getListId().equals(belongings.get(start).getListId())) {
+				long[] order = new long[i - start];
+				for (int j = start; j < i; j++) {
+					order[j - start] = belongings.get(j).getGameId();
+				}
+				lists.put(belongings.get(start).getListId(), order);
+				start = i;
+			}
+		}
+		return lists;
+	}
+}
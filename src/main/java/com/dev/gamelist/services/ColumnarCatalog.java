@@ -0,0 +1,267 @@
+package com.dev.gamelist.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.dev.gamelist.dto.GameMinDTO;
+import com.dev.gamelist.entities.Game;
+
+// retrato imutável do catálogo em formato colunar: cada atributo filtrável/ordenável fica em um
+// array primitivo e a linha i de todos os arrays corresponde ao mesmo jogo
+public final class ColumnarCatalog {
+
+	public enum SortField {
+		ID, YEAR, SCORE
+	}
+
+	private final long[] ids;
+	private final int[] years;
+	private final double[] scores;
+	// gêneros como bitset por linha: cada termo do texto separado por vírgula recebe um código do
+	// dicionário, e a linha i ocupa as palavras [i * genreWords, (i + 1) * genreWords) de genres
+	private final long[] genres;
+	private final int genreWords;
+	private final Map<String, Integer> genreCodes;
+	private final GameMinDTO[] games;
+
+	private ColumnarCatalog(long[] ids, int[] years, double[] scores, long[] genres, int genreWords,
+			Map<String, Integer> genreCodes, GameMinDTO[] games) {
+		this.ids = ids;
+		this.years = years;
+		this.scores = scores;
+		this.genres = genres;
+		this.genreWords = genreWords;
+		this.genreCodes = genreCodes;
+		this.games = games;
+	}
+
+	public static ColumnarCatalog of(List<Game> catalog) {
+		int n = catalog.size();
+		Map<String, Integer> genreCodes = new HashMap<>();
+		for (Game game : catalog) {
+			for (String term : terms(game.getGenre())) {
+				genreCodes.putIfAbsent(term, genreCodes.size());
+			}
+		}
+		int genreWords = words(genreCodes.size());
+		long[] ids = new long[n];
+		int[] years = new int[n];
+		double[] scores = new double[n];
+		long[] genres = new long[n * genreWords];
+		GameMinDTO[] games = new GameMinDTO[n];
+		for (int i = 0; i < n; i++) {
+			set(catalog.get(i), i, genreCodes, genreWords, ids, years, scores, genres, games);
+		}
+		return new ColumnarCatalog(ids, years, scores, genres, genreWords, genreCodes, games);
+	}
+
+	// nova versão com o jogo inserido, alterado ou removido (copy-on-write); a instância atual não muda.
+	// Copia as colunas e altera só a linha do jogo, sem reconstruir o catálogo
+	public ColumnarCatalog with(Game game, boolean removed) {
+		int index = indexOf(game.getId());
+		if (removed) {
+			return index < 0 ? this : without(index);
+		}
+
+		Map<String, Integer> codes = genreCodes;
+		for (String term : terms(game.getGenre())) {
+			if (!codes.containsKey(term)) {
+				if (codes == genreCodes) {
+					codes = new HashMap<>(genreCodes);
+				}
+				codes.put(term, codes.size());
+			}
+		}
+		int words = words(codes.size());
+		int row = index >= 0 ? index : ids.length;
+		int n = index >= 0 ? ids.length : ids.length + 1;
+
+		long[] copiedIds = Arrays.copyOf(ids, n);
+		int[] copiedYears = Arrays.copyOf(years, n);
+		double[] copiedScores = Arrays.copyOf(scores, n);
+		GameMinDTO[] copiedGames = Arrays.copyOf(games, n);
+		long[] copiedGenres;
+		if (words == genreWords) {
+			copiedGenres = Arrays.copyOf(genres, n * words);
+			Arrays.fill(copiedGenres, row * words, (row + 1) * words, 0L);
+		} else {
+			// o dicionário passou de um múltiplo de 64 termos: alarga o bitset de todas as linhas
+			copiedGenres = new long[n * words];
+			for (int i = 0; i < ids.length; i++) {
+				if (i != row) {
+					System.arraycopy(genres, i * genreWords, copiedGenres, i * words, genreWords);
+				}
+			}
+		}
+		set(game, row, codes, words, copiedIds, copiedYears, copiedScores, copiedGenres, copiedGames);
+		return new ColumnarCatalog(copiedIds, copiedYears, copiedScores, copiedGenres, words, codes, copiedGames);
+	}
+
+	private ColumnarCatalog without(int row) {
+		int n = ids.length - 1;
+		long[] copiedIds = new long[n];
+		int[] copiedYears = new int[n];
+		double[] copiedScores = new double[n];
+		long[] copiedGenres = new long[n * genreWords];
+		GameMinDTO[] copiedGames = new GameMinDTO[n];
+		System.arraycopy(ids, 0, copiedIds, 0, row);
+		System.arraycopy(ids, row + 1, copiedIds, row, n - row);
+		System.arraycopy(years, 0, copiedYears, 0, row);
+		System.arraycopy(years, row + 1, copiedYears, row, n - row);
+		System.arraycopy(scores, 0, copiedScores, 0, row);
+		System.arraycopy(scores, row + 1, copiedScores, row, n - row);
+		System.arraycopy(games, 0, copiedGames, 0, row);
+		System.arraycopy(games, row + 1, copiedGames, row, n - row);
+		System.arraycopy(genres, 0, copiedGenres, 0, row * genreWords);
+		System.arraycopy(genres, (row + 1) * genreWords, copiedGenres, row * genreWords, (n - row) * genreWords);
+		return new ColumnarCatalog(copiedIds, copiedYears, copiedScores, copiedGenres, genreWords, genreCodes,
+				copiedGames);
+	}
+
+	public int size() {
+		return ids.length;
+	}
+
+	// varredura sequencial das colunas com predicados primitivos; as linhas aprovadas disputam
+	// um heap limitado a "limit" posições, então a memória usada não depende do tamanho do catálogo
+	public List<GameMinDTO> query(double minScore, double maxScore, int yearFrom, int yearTo, String genre,
+			SortField sortField, boolean descending, int limit) {
+		// o filtro de gênero vira um teste de bit: a palavra e a máscara do termo pedido
+		int genreWord = -1;
+		long genreMask = 0L;
+		if (genre != null) {
+			Integer code = genreCodes.get(normalize(genre));
+			if (code == null) {
+				return List.of();
+			}
+			genreWord = code / Long.SIZE;
+			genreMask = 1L << (code % Long.SIZE);
+		}
+
+		int[] heap = new int[limit];
+		int size = 0;
+		for (int i = 0; i < ids.length; i++) {
+			if (scores[i] < minScore || scores[i] > maxScore || years[i] < yearFrom || years[i] > yearTo
+					|| (genreWord >= 0 && (genres[i * genreWords + genreWord] & genreMask) == 0)) {
+				continue;
+			}
+			if (size < limit) {
+				heap[size] = i;
+				siftUp(heap, size++, sortField, descending);
+			} else if (better(i, heap[0], sortField, descending)) {
+				heap[0] = i;
+				siftDown(heap, size, sortField, descending);
+			}
+		}
+
+		// o topo do heap é sempre o pior resultado: esvazia-o preenchendo a resposta de trás para frente
+		GameMinDTO[] result = new GameMinDTO[size];
+		for (int last = size - 1; last >= 0; last--) {
+			result[last] = games[heap[0]];
+			heap[0] = heap[last];
+			siftDown(heap, last, sortField, descending);
+		}
+		return Arrays.asList(result);
+	}
+
+	private double key(int i, SortField sortField) {
+		return switch (sortField) {
+		case ID -> ids[i];
+		case YEAR -> years[i];
+		case SCORE -> scores[i];
+		};
+	}
+
+	// a linha a vem antes da linha b na ordenação pedida (empates resolvidos pelo menor ID)
+	private boolean better(int a, int b, SortField sortField, boolean descending) {
+		double keyA = key(a, sortField);
+		double keyB = key(b, sortField);
+		if (keyA != keyB) {
+			return descending ? keyA > keyB : keyA < keyB;
+		}
+		return ids[a] < ids[b];
+	}
+
+	private void siftUp(int[] heap, int i, SortField sortField, boolean descending) {
+		while (i > 0) {
+			int parent = (i - 1) / 2;
+			if (!better(heap[parent], heap[i], sortField, descending)) {
+				return;
+			}
+			swap(heap, i, parent);
+			i = parent;
+		}
+	}
+
+	private void siftDown(int[] heap, int size, SortField sortField, boolean descending) {
+		int i = 0;
+		while (true) {
+			int left = 2 * i + 1;
+			int right = left + 1;
+			int worst = i;
+			if (left < size && better(heap[worst], heap[left], sortField, descending)) {
+				worst = left;
+			}
+			if (right < size && better(heap[worst], heap[right], sortField, descending)) {
+				worst = right;
+			}
+			if (worst == i) {
+				return;
+			}
+			swap(heap, i, worst);
+			i = worst;
+		}
+	}
+
+	private static void swap(int[] heap, int a, int b) {
+		int row = heap[a];
+		heap[a] = heap[b];
+		heap[b] = row;
+	}
+
+	private int indexOf(Long id) {
+		for (int i = 0; i < ids.length; i++) {
+			if (ids[i] == id) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static void set(Game game, int i, Map<String, Integer> genreCodes, int genreWords, long[] ids,
+			int[] years, double[] scores, long[] genres, GameMinDTO[] games) {
+		ids[i] = game.getId();
+		years[i] = game.getYear() != null ? game.getYear() : 0;
+		scores[i] = game.getScore() != null ? game.getScore() : 0.0;
+		for (String term : terms(game.getGenre())) {
+			int code = genreCodes.get(term);
+			genres[i * genreWords + code / Long.SIZE] |= 1L << (code % Long.SIZE);
+		}
+		games[i] = new GameMinDTO(game);
+	}
+
+	private static List<String> terms(String genre) {
+		List<String> terms = new ArrayList<>();
+		if (genre != null) {
+			for (String value : genre.split(",")) {
+				String term = normalize(value);
+				if (!term.isEmpty()) {
+					terms.add(term);
+				}
+			}
+		}
+		return terms;
+	}
+
+	private static int words(int terms) {
+		return Math.max(1, (terms + Long.SIZE - 1) / Long.SIZE);
+	}
+
+	private static String normalize(String genre) {
+		return genre == null ? "" : genre.trim().toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,76 @@
+package com.dev.gamelist.services;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.dev.gamelist.dto.GameMinDTO;
+import com.dev.gamelist.entities.Game;
+import com.dev.gamelist.events.GameChangedEvent;
+import com.dev.gamelist.repositories.GameRepository;
+import com.dev.gamelist.services.ColumnarCatalog.SortField;
+
+import jakarta.annotation.PostConstruct;
+
+// mantém o retrato colunar do catálogo usado nas consultas com filtro e ordenação,
+// substituindo-o por uma nova versão sempre que um jogo muda
+@Service
+public class ColumnarCatalogService {
+
+	public static final int MAX_LIMIT = 1000;
+	// limite aplicado quando a consulta tem filtro ou ordenação mas não informa "limit"
+	public static final int DEFAULT_LIMIT = 20;
+
+	@Autowired
+	private GameRepository gameRepository;
+
+	@Autowired
+	private CatalogSnapshotService catalogSnapshotService;
+
+	private volatile ColumnarCatalog catalog;
+
+	@PostConstruct
+	void init() {
+		// com um snapshot válido do catálogo, a carga inicial não precisa varrer a tabela de jogos
+		List<Game> games = catalogSnapshotService.findAllGames();
+		catalog = ColumnarCatalog.of(games != null ? games : gameRepository.findAll());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onGameChanged(GameChangedEvent event) {
+		catalog = catalog.with(event.getGame(), event.isRemoved());
+	}
+
+	// sort no formato "campo" ou "campo,direção" (ex.: "score,desc"), com campo id, year ou score
+	public List<GameMinDTO> query(String sort, Double minScore, Double maxScore, Integer yearFrom, Integer yearTo,
+			String genre, int limit) {
+		if (limit < 1 || limit > MAX_LIMIT) {
+			throw new IllegalArgumentException("O limite deve estar entre 1 e " + MAX_LIMIT + ": " + limit);
+		}
+		SortField sortField = SortField.ID;
+		boolean descending = false;
+		if (sort != null && !sort.isBlank()) {
+			String[] parts = sort.split(",");
+			try {
+				sortField = SortField.valueOf(parts[0].trim().toUpperCase());
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("Campo de ordenação inválido: " + parts[0]);
+			}
+			if (parts.length > 1) {
+				String direction = parts[1].trim();
+				if (!direction.equalsIgnoreCase("asc") && !direction.equalsIgnoreCase("desc")) {
+					throw new IllegalArgumentException("Direção de ordenação inválida: " + direction);
+				}
+				descending = direction.equalsIgnoreCase("desc");
+			}
+		}
+		return catalog.query(
+				minScore != null ? minScore : Double.NEGATIVE_INFINITY,
+				maxScore != null ? maxScore : Double.POSITIVE_INFINITY,
+				yearFrom != null ? yearFrom : Integer.MIN_VALUE,
+				yearTo != null ? yearTo : Integer.MAX_VALUE,
+				genre, sortField, descending, limit);
+	}
+}
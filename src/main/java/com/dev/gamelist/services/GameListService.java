@@ -1,69 +1,212 @@
 package com.dev.gamelist.services;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.dev.gamelist.dto.GameListDTO;
+import com.dev.gamelist.dto.GameMinDTO;
+import com.dev.gamelist.dto.ListChangeDTO;
+import com.dev.gamelist.dto.ListDeltaDTO;
 import com.dev.gamelist.entities.GameList;
+import com.dev.gamelist.events.ListContentsChangedEvent;
+import com.dev.gamelist.events.ListReorderedEvent;
 import com.dev.gamelist.exceptions.DatabaseException;
 import com.dev.gamelist.exceptions.ResourceNotFoundException;
-import com.dev.gamelist.projections.GameMinProjection;
+import com.dev.gamelist.projections.GamePositionProjection;
+import com.dev.gamelist.projections.ListChangeProjection;
 import com.dev.gamelist.repositories.GameListRepository;
 import com.dev.gamelist.repositories.GameRepository;
+import com.dev.gamelist.repositories.ListChangeRepository;
+
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class GameListService {
 
+	// teto de jogos por inserção/remoção: os IDs vão para cláusulas IN (o PostgreSQL aceita até 32767 parâmetros)
+	public static final int MAX_GAMES_PER_REQUEST = 1000;
+
 	@Autowired
 	private GameListRepository gameListRepository;
 
+	@Autowired
+	private ListChangeRepository listChangeRepository;
+
 	@Autowired
 	private GameRepository gameRepository;
 
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ListOrderBuffer listOrderBuffer;
+
+	@Autowired
+	private CatalogSnapshotService catalogSnapshotService;
+
+	@Autowired
+	private MembershipFilterService membershipFilter;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ApplicationEventPublisher publisher;
+
+	@Value("${list-changes.retained-versions}")
+	private long retainedVersions;
+
+	private TransactionTemplate transaction;
+	private TransactionTemplate readOnlyTransaction;
+
+	@PostConstruct
+	void init() {
+		transaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+	}
+
 	@Transactional(readOnly = true)
 	public List<GameListDTO> findAll() {
 		List<GameList> result = gameListRepository.findAll();
 		return result.stream().map(x -> new GameListDTO(x)).toList();
 	}
+
+	// retorna a quantidade de jogos da lista a partir do contador mantido em tb_game_list
+	@Transactional(readOnly = true)
+	public int countGames(Long listId) {
+		requireKnownList(listId);
+		Integer snapshot = catalogSnapshotService.countGames(listId);
+		if (snapshot != null) {
+			return snapshot;
+		}
+		GameList list = gameListRepository.findById(listId)
+				.orElseThrow(() -> new ResourceNotFoundException("Lista de jogos não encontrada para o ID: " + listId));
+		return list.getGameCount();
+	}
 	
-	@Transactional
+	// mudanças de posição da lista desde a versão informada, já consolidadas (uma entrada por jogo, com a
+	// posição final); se o log não cobre todas as versões pedidas, devolve a lista completa. Uma versão
+	// negativa pede sempre a lista completa, para a primeira sincronização do cliente
+	public ListDeltaDTO findChangesSince(Long listId, long sinceVersion) {
+		requireKnownList(listId);
+		return readOnlyTransaction.execute(status -> {
+			GameList list = gameListRepository.findById(listId)
+					.orElseThrow(() -> new ResourceNotFoundException("Lista de jogos não encontrada para o ID: " + listId));
+			long version = list.getVersion();
+			if (sinceVersion == version) {
+				return ListDeltaDTO.changes(version, List.of());
+			}
+			if (sinceVersion < 0 || sinceVersion > version || !changeLogCovers(listId, sinceVersion)) {
+				return fullSync(listId, version);
+			}
+			List<ListChangeProjection> logged = listChangeRepository.searchChangesSince(listId, sinceVersion, version);
+			// em READ COMMITTED, uma compactação confirmada entre a verificação acima e a leitura do log pode
+			// ter apagado parte das mudanças: o log é verificado de novo depois da leitura
+			if (!changeLogCovers(listId, sinceVersion)) {
+				return fullSync(listId, version);
+			}
+			Map<Long, Integer> positions = new LinkedHashMap<>();
+			for (ListChangeProjection change : logged) {
+				positions.remove(change.getGameId());
+				positions.put(change.getGameId(), change.getPosition());
+			}
+			List<ListChangeDTO> changes = positions.entrySet().stream()
+					.map(entry -> new ListChangeDTO(entry.getKey(), entry.getValue())).toList();
+			return ListDeltaDTO.changes(version, changes);
+		});
+	}
+
+	// o log ainda guarda todas as mudanças posteriores a "sinceVersion"
+	private boolean changeLogCovers(Long listId, long sinceVersion) {
+		Long oldest = listChangeRepository.findOldestVersion(listId);
+		return oldest != null && oldest <= sinceVersion + 1;
+	}
+
+	// lida do BD depois da versão, e não de caches ou do snapshot, que podem estar atrás dela; a lista
+	// pode estar à frente, mas como as mudanças trazem posições absolutas, reaplicá-las não altera o resultado
+	private ListDeltaDTO fullSync(Long listId, long version) {
+		List<GameMinDTO> games = gameRepository.searchByList(listId).stream().map(GameMinDTO::new).toList();
+		return ListDeltaDTO.full(version, games);
+	}
+
+	// mantém no log apenas as últimas versões de cada lista; clientes mais atrasados recebem a lista completa
+	@Scheduled(fixedDelayString = "${list-changes.compaction-interval-ms}")
+	public void compactChangeLog() {
+		transaction.executeWithoutResult(status -> listChangeRepository.compact(retainedVersions));
+	}
+
 	public void move(Long listId, int sourceIndex, int destinationIndex) {
 
 	    if (listId == null) {
 	        throw new IllegalArgumentException("O ID da lista não pode ser nulo.");
 	    }
+	    requireKnownList(listId);
+
+	    // no modo write-behind a reordenação é aplicada em memória e gravada depois pelo flusher
+	    if (listOrderBuffer.isEnabled()) {
+	        listOrderBuffer.move(listId, sourceIndex, destinationIndex);
+	        publisher.publishEvent(new ListReorderedEvent(listId, sourceIndex, destinationIndex, null));
+	        return;
+	    }
+
+	    transaction.executeWithoutResult(status -> {
+	        Long version = moveInDatabase(listId, sourceIndex, destinationIndex);
+	        if (version != null) {
+	            publisher.publishEvent(new ListReorderedEvent(listId, sourceIndex, destinationIndex, version));
+	        }
+	    });
+	}
 
+	// retorna a nova versão da lista, ou null se a reordenação não alterou nada
+	private Long moveInDatabase(Long listId, int sourceIndex, int destinationIndex) {
 	    try {
-	        // Recebe a lista de jogos a ser reorganizada
-	        List<GameMinProjection> list = gameRepository.searchByList(listId);
+	        // Recebe o tamanho da lista a partir do contador da lista, sem carregar os jogos; a linha fica
+	        // bloqueada até o commit para que reordenações concorrentes recebam versões distintas
+	        GameList gameList = gameListRepository.findByIdForUpdate(listId)
+	                .orElseThrow(() -> new ResourceNotFoundException("Lista de jogos não encontrada para o ID: " + listId));
+	        int size = gameList.getGameCount();
 
-	        if (list.isEmpty()) {
+	        if (size == 0) {
 	            throw new ResourceNotFoundException("Nenhum jogo encontrado para o ID de lista especificado: " + listId);
 	        }
 
 	        // Verifica se os índices são válidos
-	        if (sourceIndex < 0 || sourceIndex >= list.size()) {
+	        if (sourceIndex < 0 || sourceIndex >= size) {
 	            throw new IllegalArgumentException("O valor especificado para o índice inicial está fora dos limites: " + sourceIndex);
 	        }
-	        if (destinationIndex < 0 || destinationIndex >= list.size()) {
+	        if (destinationIndex < 0 || destinationIndex >= size) {
 	            throw new IllegalArgumentException("O valor especificado para o índice de destino está fora dos limites: " + destinationIndex);
 	        }
-
-	        // Exclui e reinsere o jogo no intervalo da lista para reorganizar as posições
-	        GameMinProjection obj = list.remove(sourceIndex);
-	        list.add(destinationIndex, obj);
+	        if (sourceIndex == destinationIndex) {
+	            return null;
+	        }
 
 	        // Determina a posição mínima e máxima do jogo na lista
 	        int min = Math.min(sourceIndex, destinationIndex);
 	        int max = Math.max(sourceIndex, destinationIndex);
 
-	        // Atualiza o BD com as novas posições da lista especificada
-	        for (int i = min; i <= max; i++) {
-	            gameListRepository.updateBelongingPosition(listId, list.get(i).getId(), i);
-	        }
+	        // Atualiza o BD com um único UPDATE: o jogo vai para o destino e o intervalo entre eles é deslocado
+	        gameListRepository.shiftBelongingPositions(listId, sourceIndex, destinationIndex, min, max);
+
+	        // Registra a nova versão e as novas posições do intervalo deslocado no log de mudanças
+	        long version = gameList.getVersion() + 1;
+	        gameList.setVersion(version);
+	        listChangeRepository.insertPositionChanges(listId, version, min, max);
+	        return version;
 
 	    } catch (ResourceNotFoundException e) {
 	        // Repropaga a exceção para ser tratada pelo ControllerAdvice
@@ -78,4 +221,118 @@ public class GameListService {
 	        throw new DatabaseException("Ocorreu um erro ao atualizar a lista de jogos.", e);
 	    }
 	}
+
+	// insere os jogos, na ordem recebida, a partir da posição informada (size = fim da lista)
+	public void insertGames(Long listId, int position, List<Long> gameIds) {
+		if (listId == null) {
+			throw new IllegalArgumentException("O ID da lista não pode ser nulo.");
+		}
+		requireKnownList(listId);
+		requireDistinctGames(gameIds);
+		listOrderBuffer.runExclusive(listId, () -> transaction.executeWithoutResult(status -> insertInDatabase(listId, position, gameIds)));
+	}
+
+	// remove os jogos da lista, fechando as lacunas deixadas nas posições
+	public void removeGames(Long listId, List<Long> gameIds) {
+		if (listId == null) {
+			throw new IllegalArgumentException("O ID da lista não pode ser nulo.");
+		}
+		requireKnownList(listId);
+		requireDistinctGames(gameIds);
+		listOrderBuffer.runExclusive(listId, () -> transaction.executeWithoutResult(status -> removeFromDatabase(listId, gameIds)));
+	}
+
+	private void insertInDatabase(Long listId, int position, List<Long> gameIds) {
+		try {
+			GameList gameList = gameListRepository.findByIdForUpdate(listId)
+					.orElseThrow(() -> new ResourceNotFoundException("Lista de jogos não encontrada para o ID: " + listId));
+			int size = gameList.getGameCount();
+
+			if (position < 0 || position > size) {
+				throw new IllegalArgumentException("O valor especificado para a posição de inserção está fora dos limites: " + position);
+			}
+			if (gameRepository.findExistingIds(gameIds).size() != gameIds.size()) {
+				throw new ResourceNotFoundException("Um ou mais jogos informados não existem no catálogo.");
+			}
+			if (!gameListRepository.searchPositions(listId, gameIds).isEmpty()) {
+				throw new IllegalArgumentException("Um ou mais jogos informados já pertencem à lista: " + listId);
+			}
+
+			// Abre espaço com um único UPDATE e grava as novas associações em lote
+			gameListRepository.shiftPositionsFrom(listId, position, gameIds.size());
+			List<Object[]> rows = new ArrayList<>(gameIds.size());
+			for (int i = 0; i < gameIds.size(); i++) {
+				rows.add(new Object[] { listId, gameIds.get(i), position + i });
+			}
+			jdbcTemplate.batchUpdate("INSERT INTO tb_belonging (list_id, game_id, position) VALUES (?, ?, ?)", rows);
+
+			gameList.setGameCount(size + gameIds.size());
+			contentsChanged(gameList);
+
+		} catch (ResourceNotFoundException | IllegalArgumentException e) {
+			throw e;
+
+		} catch (Exception e) {
+			throw new DatabaseException("Ocorreu um erro ao inserir jogos na lista.", e);
+		}
+	}
+
+	private void removeFromDatabase(Long listId, List<Long> gameIds) {
+		try {
+			GameList gameList = gameListRepository.findByIdForUpdate(listId)
+					.orElseThrow(() -> new ResourceNotFoundException("Lista de jogos não encontrada para o ID: " + listId));
+
+			List<GamePositionProjection> found = gameListRepository.searchPositions(listId, gameIds);
+			if (found.size() != gameIds.size()) {
+				throw new ResourceNotFoundException("Um ou mais jogos informados não pertencem à lista: " + listId);
+			}
+			// Fecha as lacunas antes de apagar: cada jogo recua o número de jogos removidos abaixo dele,
+			// em um único UPDATE a partir da menor posição removida
+			int lowest = found.stream().mapToInt(GamePositionProjection::getPosition).min().getAsInt();
+			gameListRepository.closePositionGaps(listId, gameIds, lowest);
+
+			List<Object[]> deletes = new ArrayList<>(gameIds.size());
+			for (Long gameId : gameIds) {
+				deletes.add(new Object[] { listId, gameId });
+			}
+			jdbcTemplate.batchUpdate("DELETE FROM tb_belonging WHERE list_id = ? AND game_id = ?", deletes);
+
+			gameList.setGameCount(gameList.getGameCount() - gameIds.size());
+			contentsChanged(gameList);
+
+		} catch (ResourceNotFoundException | IllegalArgumentException e) {
+			throw e;
+
+		} catch (Exception e) {
+			throw new DatabaseException("Ocorreu um erro ao remover jogos da lista.", e);
+		}
+	}
+
+	// inserções e remoções deslocam posições demais para o log de mudanças: a lista ganha uma nova versão,
+	// o log é descartado e clientes em versões anteriores passam a receber a lista completa
+	private void contentsChanged(GameList gameList) {
+		long version = gameList.getVersion() + 1;
+		gameList.setVersion(version);
+		listChangeRepository.deleteByListId(gameList.getId());
+		publisher.publishEvent(new ListContentsChangedEvent(gameList.getId(), version));
+	}
+
+	private static void requireDistinctGames(List<Long> gameIds) {
+		if (gameIds == null || gameIds.isEmpty()) {
+			throw new IllegalArgumentException("Nenhum jogo informado.");
+		}
+		if (gameIds.size() > MAX_GAMES_PER_REQUEST) {
+			throw new IllegalArgumentException("No máximo " + MAX_GAMES_PER_REQUEST + " jogos por requisição: " + gameIds.size());
+		}
+		if (gameIds.contains(null) || new HashSet<>(gameIds).size() != gameIds.size()) {
+			throw new IllegalArgumentException("A lista de jogos informada contém IDs nulos ou repetidos.");
+		}
+	}
+
+	// responde 404 sem consultar o BD quando o filtro de existência garante que a lista não existe
+	private void requireKnownList(Long listId) {
+		if (!membershipFilter.mightContainList(listId)) {
+			throw new ResourceNotFoundException("Lista de jogos não encontrada para o ID: " + listId, false);
+		}
+	}
 }
@@ -3,8 +3,11 @@ package com.dev.gamelist.services;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.dev.gamelist.dto.GameDTO;
 import com.dev.gamelist.dto.GameMinDTO;
@@ -14,18 +17,67 @@ import com.dev.gamelist.exceptions.ResourceNotFoundException;
 import com.dev.gamelist.projections.GameMinProjection;
 import com.dev.gamelist.repositories.GameRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
 @Service
 public class GameService {
 
 	@Autowired
 	private GameRepository gameRepository;
 
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private ListOrderBuffer listOrderBuffer;
+
+	@Autowired
+	private CatalogSnapshotService catalogSnapshotService;
+
+	@Autowired
+	private MembershipFilterService membershipFilter;
+
+	@Value("${coalescing.games.timeout-ms}")
+	private long gameTimeoutMillis;
+
+	@Value("${coalescing.lists.timeout-ms}")
+	private long listTimeoutMillis;
+
+	@Value("${admission.retry-after-seconds}")
+	private long retryAfterSeconds;
+
+	private TransactionTemplate readOnlyTransaction;
+	private SingleFlight<Long, GameDTO> gameFlights;
+	private SingleFlight<Long, List<GameMinDTO>> listFlights;
+
+	@PostConstruct
+	void init() {
+		readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+		gameFlights = new SingleFlight<>("games", gameTimeoutMillis, retryAfterSeconds, meterRegistry);
+		listFlights = new SingleFlight<>("lists", listTimeoutMillis, retryAfterSeconds, meterRegistry);
+	}
+
 	// retorna um game a partir de um ID
-	@Transactional(readOnly = true)
+	// requisições simultâneas para o mesmo ID compartilham uma única consulta; a transação
+	// é aberta apenas pela chamada que executa a consulta, para não reter conexões nas que aguardam
 	public GameDTO findById(Long id) {
-		Game result = gameRepository.findById(id)
-				.orElseThrow(() -> new ResourceNotFoundException("Título de jogo não encontrado para o ID: " + id));
-		return new GameDTO(result);
+		if (!membershipFilter.mightContainGame(id)) {
+			throw new ResourceNotFoundException("Título de jogo não encontrado para o ID: " + id, false);
+		}
+		GameDTO snapshot = catalogSnapshotService.findGame(id);
+		if (snapshot != null) {
+			return snapshot;
+		}
+		return gameFlights.execute(id, () -> readOnlyTransaction.execute(status -> {
+			Game result = gameRepository.findById(id)
+					.orElseThrow(() -> new ResourceNotFoundException("Título de jogo não encontrado para o ID: " + id));
+			return new GameDTO(result);
+		}));
 	}
 
 	// retorna todos os games do catálogo
@@ -35,23 +87,65 @@ public class GameService {
 		return result.stream().map(x -> new GameMinDTO(x)).toList();
 	}
 
-	@Transactional(readOnly = true)
 	public List<GameMinDTO> findByList(Long listId) {
 		if (listId == null) {
 			throw new IllegalArgumentException("O ID da lista não pode ser nulo");
 		}
+		if (!membershipFilter.mightContainList(listId)) {
+			throw new ResourceNotFoundException("Nenhum jogo encontrado para a lista de ID: " + listId, false);
+		}
+
+		// listas com reordenações em memória (modo write-behind) são servidas a partir da ordem em memória
+		List<GameMinDTO> buffered = listOrderBuffer.findByList(listId);
+		if (buffered != null) {
+			return buffered;
+		}
+		List<GameMinDTO> snapshot = catalogSnapshotService.findByList(listId);
+		if (snapshot != null && !snapshot.isEmpty()) {
+			return snapshot;
+		}
 
-		try {
-			List<GameMinProjection> result = gameRepository.searchByList(listId);
+		return listFlights.execute(listId, () -> readOnlyTransaction.execute(status -> {
+			try {
+				List<GameMinProjection> result = gameRepository.searchByList(listId);
 
-			if (result.isEmpty()) {
-				throw new ResourceNotFoundException("Nenhum jogo encontrado para a lista de ID: " + listId);
-			}
+				if (result.isEmpty()) {
+					throw new ResourceNotFoundException("Nenhum jogo encontrado para a lista de ID: " + listId);
+				}
+
+				return result.stream().map(x -> new GameMinDTO(x)).toList();
 
-			return result.stream().map(x -> new GameMinDTO(x)).toList();
+			} catch (ResourceNotFoundException ex) {
+				// lista inexistente ou vazia é 404, não erro de BD
+				throw ex;
 
-		} catch (Exception ex) {
-			throw new DatabaseException("Ocorreu um erro ao buscar jogos para o ID da lista: " + listId, ex);
+			} catch (Exception ex) {
+				throw new DatabaseException("Ocorreu um erro ao buscar jogos para o ID da lista: " + listId, ex);
+			}
+		}));
+	}
+
+	// retorna apenas as posições [from, to) da lista, usando o predicado de intervalo sobre tb_belonging.position
+	@Transactional(readOnly = true)
+	public List<GameMinDTO> findByListWindow(Long listId, int from, int to) {
+		if (listId == null) {
+			throw new IllegalArgumentException("O ID da lista não pode ser nulo");
+		}
+		if (from < 0 || to < from) {
+			throw new IllegalArgumentException("Intervalo de posições inválido: [" + from + ", " + to + ")");
 		}
+		if (!membershipFilter.mightContainList(listId)) {
+			throw new ResourceNotFoundException("Lista de jogos não encontrada para o ID: " + listId, false);
+		}
+		List<GameMinDTO> buffered = listOrderBuffer.findByListWindow(listId, from, to);
+		if (buffered != null) {
+			return buffered;
+		}
+		List<GameMinDTO> snapshot = catalogSnapshotService.findByListWindow(listId, from, to);
+		if (snapshot != null) {
+			return snapshot;
+		}
+		List<GameMinProjection> result = gameRepository.searchByListRange(listId, from, to);
+		return result.stream().map(x -> new GameMinDTO(x)).toList();
 	}
 }
@@ -0,0 +1,280 @@
+package com.dev.gamelist.services;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.dev.gamelist.dto.ListEventDTO;
+import com.dev.gamelist.events.ListContentsChangedEvent;
+import com.dev.gamelist.events.ListReorderedEvent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// feed de reordenações por lista via Server-Sent Events; as conexões usam o processamento assíncrono
+// do Servlet, portanto assinantes ociosos não ocupam threads, e cada lista guarda os últimos eventos
+// em um buffer circular para que clientes reconectados retomem a partir do Last-Event-ID. O id SSE é
+// "<época>-<sequência>": a sequência é local do feed (contígua, para a retomada) e recomeça quando o feed
+// é despejado ou o nó reinicia, por isso a época identifica cada instância do feed; a versão da lista vai
+// no corpo do evento
+@Service
+public class ListEventFeed {
+
+	public static final String MOVE_EVENT = "move";
+	// enviado quando o cliente está atrasado demais para o buffer, quando retoma com o id de outra época do
+	// feed ou quando jogos são inseridos/removidos:
+	// o cliente deve recarregar a lista inteira
+	public static final String RESET_EVENT = "reset";
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${list-events.buffer-size}")
+	private int bufferSize;
+
+	@Value("${list-events.subscriber-queue-size}")
+	private int subscriberQueueSize;
+
+	@Value("${list-events.sender-threads}")
+	private int senderThreads;
+
+	@Value("${list-events.feed-idle-eviction-ms}")
+	private long feedIdleEvictionMillis;
+
+	private final ConcurrentHashMap<Long, Feed> feeds = new ConcurrentHashMap<>();
+	// pool que faz os envios bloqueantes; cada assinante é drenado por no máximo uma thread de cada vez,
+	// o que preserva a ordem dos eventos para ele sem que um cliente lento atrase os demais
+	private ExecutorService senders;
+
+	// event nulo representa um reset: jogos foram inseridos ou removidos e a lista deve ser recarregada
+	private record Published(long sequence, ListEventDTO event) {
+	}
+
+	// marcador de heartbeat na fila de um assinante
+	private static final Object HEARTBEAT = new Object();
+
+	private final class Feed {
+		final Published[] ring = new Published[bufferSize];
+		final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+		// aleatória para não se repetir entre feeds recriados nem entre reinícios do nó
+		final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, Character.MAX_RADIX);
+		long sequence;
+		volatile long lastActivity = System.currentTimeMillis();
+
+		// eventos posteriores ao Last-Event-ID, ou null se ele é de outra época (ou malformado) ou se algum
+		// dos eventos já saiu do buffer
+		Published[] since(String lastEventId) {
+			int separator = lastEventId.lastIndexOf('-');
+			if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+				return null;
+			}
+			long lastSequence;
+			try {
+				lastSequence = Long.parseLong(lastEventId.substring(separator + 1));
+			} catch (NumberFormatException e) {
+				return null;
+			}
+			long missed = sequence - lastSequence;
+			if (lastSequence < 0 || lastSequence > sequence || missed > ring.length) {
+				return null;
+			}
+			Published[] events = new Published[(int) missed];
+			for (int i = 0; i < events.length; i++) {
+				long eventSequence = lastSequence + 1 + i;
+				events[i] = ring[(int) (eventSequence % ring.length)];
+			}
+			return events;
+		}
+	}
+
+	// fila limitada por conexão: se o cliente não acompanha e a fila enche, a conexão é encerrada e o
+	// cliente retoma pelo Last-Event-ID (ou recebe um reset), em vez de acumular eventos em memória
+	private final class Subscriber {
+		final Feed feed;
+		final SseEmitter emitter;
+		final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(subscriberQueueSize);
+		final AtomicBoolean draining = new AtomicBoolean();
+		volatile boolean closed;
+
+		Subscriber(Feed feed, SseEmitter emitter) {
+			this.feed = feed;
+			this.emitter = emitter;
+		}
+
+		void offer(Object message) {
+			if (closed) {
+				return;
+			}
+			if (!queue.offer(message)) {
+				close();
+				emitter.complete();
+				return;
+			}
+			schedule();
+		}
+
+		void schedule() {
+			if (!draining.compareAndSet(false, true)) {
+				return;
+			}
+			try {
+				senders.execute(this::drain);
+			} catch (RejectedExecutionException e) {
+				draining.set(false);
+			}
+		}
+
+		void drain() {
+			try {
+				Object message;
+				while (!closed && (message = queue.poll()) != null) {
+					if (message == HEARTBEAT) {
+						emitter.send(SseEmitter.event().comment("heartbeat"));
+					} else {
+						send(emitter, feed.epoch, (Published) message);
+					}
+				}
+			} catch (IOException | IllegalStateException e) {
+				close();
+			} finally {
+				draining.set(false);
+			}
+			// uma mensagem enfileirada depois do último poll, mas antes de liberar a drenagem, ficaria parada
+			if (!closed && !queue.isEmpty()) {
+				schedule();
+			}
+		}
+
+		void close() {
+			closed = true;
+			queue.clear();
+			feed.subscribers.remove(this);
+			feed.lastActivity = System.currentTimeMillis();
+		}
+	}
+
+	@PostConstruct
+	void init() {
+		AtomicInteger threads = new AtomicInteger();
+		senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+			Thread thread = new Thread(runnable, "list-event-feed-" + threads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		Gauge.builder("gamelist.list-events.subscribers", this, ListEventFeed::getSubscriberCount).register(meterRegistry);
+	}
+
+	@PreDestroy
+	void shutdown() {
+		senders.shutdownNow();
+		feeds.values().forEach(feed -> feed.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+	}
+
+	public SseEmitter subscribe(Long listId, String lastEventId) {
+		SseEmitter emitter = new SseEmitter(0L);
+		// registro e eventos perdidos são enfileirados de forma atômica em relação às publicações e ao despejo do feed
+		Subscriber[] registered = new Subscriber[1];
+		feeds.compute(listId, (id, existing) -> {
+			Feed feed = existing != null ? existing : new Feed();
+			Subscriber subscriber = new Subscriber(feed, emitter);
+			if (lastEventId != null) {
+				Published[] missed = feed.since(lastEventId);
+				if (missed == null || missed.length >= subscriberQueueSize) {
+					subscriber.offer(new Published(feed.sequence, null));
+				} else {
+					for (Published published : missed) {
+						subscriber.offer(published);
+					}
+				}
+			}
+			feed.subscribers.add(subscriber);
+			feed.lastActivity = System.currentTimeMillis();
+			registered[0] = subscriber;
+			return feed;
+		});
+		Subscriber subscriber = registered[0];
+		emitter.onCompletion(subscriber::close);
+		emitter.onTimeout(subscriber::close);
+		emitter.onError(error -> subscriber.close());
+		return emitter;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onListReordered(ListReorderedEvent event) {
+		publish(event.getListId(), new ListEventDTO(event.getSourceIndex(), event.getDestinationIndex(), event.getVersion()));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onListContentsChanged(ListContentsChangedEvent event) {
+		publish(event.getListId(), null);
+	}
+
+	// listas sem nenhum feed não têm assinantes nem clientes a retomar: o evento é descartado
+	private void publish(Long listId, ListEventDTO event) {
+		feeds.computeIfPresent(listId, (id, feed) -> {
+			feed.sequence++;
+			Published published = new Published(feed.sequence, event);
+			feed.ring[(int) (feed.sequence % feed.ring.length)] = published;
+			feed.lastActivity = System.currentTimeMillis();
+			// enfileirar não bloqueia; a ordem das filas segue a sequência porque a publicação é serializada por lista
+			feed.subscribers.forEach(subscriber -> subscriber.offer(published));
+			return feed;
+		});
+	}
+
+	// comentário periódico que mantém proxies abertos e revela conexões já encerradas pelo cliente;
+	// também descarta os feeds que ficaram sem assinantes por mais tempo que o limite de ociosidade
+	@Scheduled(fixedDelayString = "${list-events.heartbeat-interval-ms}")
+	public void heartbeat() {
+		long idleSince = System.currentTimeMillis() - feedIdleEvictionMillis;
+		feeds.forEach((listId, feed) -> {
+			for (Subscriber subscriber : feed.subscribers) {
+				// uma fila com eventos pendentes já vai produzir tráfego na conexão
+				if (subscriber.queue.isEmpty()) {
+					subscriber.offer(HEARTBEAT);
+				}
+			}
+			if (feed.subscribers.isEmpty() && feed.lastActivity < idleSince) {
+				feeds.computeIfPresent(listId,
+						(id, current) -> current.subscribers.isEmpty() && current.lastActivity < idleSince ? null : current);
+			}
+		});
+	}
+
+	public int getSubscriberCount() {
+		return feeds.values().stream().mapToInt(feed -> feed.subscribers.size()).sum();
+	}
+
+	int getFeedCount() {
+		return feeds.size();
+	}
+
+	private static void send(SseEmitter emitter, String epoch, Published published) throws IOException {
+		send(emitter, published.event() != null ? MOVE_EVENT : RESET_EVENT, epoch + "-" + published.sequence(),
+				published.event());
+	}
+
+	private static void send(SseEmitter emitter, String name, String id, ListEventDTO event) throws IOException {
+		SseEmitter.SseEventBuilder builder = SseEmitter.event().name(name).id(id);
+		emitter.send(event != null ? builder.data(event, MediaType.APPLICATION_JSON) : builder.data(""));
+	}
+}
@@ -0,0 +1,412 @@
+package com.dev.gamelist.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dev.gamelist.dto.GameMinDTO;
+import com.dev.gamelist.events.GameChangedEvent;
+import com.dev.gamelist.exceptions.DatabaseException;
+import com.dev.gamelist.exceptions.ResourceNotFoundException;
+import com.dev.gamelist.projections.GameMinProjection;
+import com.dev.gamelist.repositories.GameRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// modo write-behind das reordenações: a ordem de cada lista "quente" fica em memória como long[] de IDs,
+// as reordenações são aplicadas nela imediatamente e registradas no journal, e o flusher grava
+// periodicamente no BD apenas as posições que mudaram desde a última gravação
+@Service
+public class ListOrderBuffer {
+
+	private static final Logger logger = LoggerFactory.getLogger(ListOrderBuffer.class);
+
+	@Autowired
+	private GameRepository gameRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${write-behind.enabled}")
+	private boolean enabled;
+
+	@Value("${write-behind.journal-path}")
+	private String journalPath;
+
+	@Value("${write-behind.idle-eviction-ms}")
+	private long idleEvictionMillis;
+
+	private final ConcurrentHashMap<Long, HotList> hotLists = new ConcurrentHashMap<>();
+	// reordenações usam o lock de leitura; o flusher usa o de escrita só para tirar um retrato consistente
+	// com o journal, sem acessar o BD
+	private final ReentrantReadWriteLock flushLock = new ReentrantReadWriteLock();
+	// lock de cada lista: serializa reordenações, a gravação da lista pelo flusher e as alterações
+	// feitas direto no BD (runExclusive), sem bloquear as demais listas
+	private final ConcurrentHashMap<Long, ReentrantLock> listLocks = new ConcurrentHashMap<>();
+	private ReorderJournal journal;
+	private TransactionTemplate transaction;
+	private TransactionTemplate readOnlyTransaction;
+
+	// estado de uma lista quente
+	private static final class HotList {
+		final Map<Long, GameMinDTO> games;
+		long[] order;
+		long[] persisted;
+		// última sequência do journal aplicada em memória e última já gravada no BD (tb_game_list.flushed_seq)
+		long appliedSequence;
+		long flushedSequence;
+		boolean dirty;
+		long lastAccess = System.currentTimeMillis();
+
+		HotList(long[] order, Map<Long, GameMinDTO> games, long flushedSequence) {
+			this.order = order;
+			this.persisted = order.clone();
+			this.games = games;
+			this.appliedSequence = flushedSequence;
+			this.flushedSequence = flushedSequence;
+		}
+	}
+
+	// retrato de uma lista suja tirado pelo flusher
+	private record Pending(HotList hot, long[] order, long sequence) {
+	}
+
+	// reaplica as reordenações do journal que ainda não chegaram ao BD antes de aceitar requisições
+	@PostConstruct
+	void init() throws IOException {
+		if (!enabled) {
+			return;
+		}
+		transaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+		Long flushed = readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(
+				"SELECT COALESCE(MAX(flushed_seq), 0) FROM tb_game_list", Long.class));
+		journal = new ReorderJournal(Path.of(journalPath), flushed);
+		replay();
+		flush();
+	}
+
+	@PreDestroy
+	void shutdown() throws IOException {
+		if (!enabled) {
+			return;
+		}
+		flush();
+		journal.close();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	// indica se a ordem da lista está sendo mantida em memória (e pode estar à frente do BD)
+	public boolean isHot(Long listId) {
+		return enabled && hotLists.containsKey(listId);
+	}
+
+	// executa uma alteração feita direto no BD (inserção/remoção de jogos) sem reordenações concorrentes na lista:
+	// as pendentes dela são gravadas antes, a lista deixa de ser quente e novas reordenações dela esperam o fim
+	// da ação. Apenas o lock da lista é mantido durante a ação; as demais listas seguem sendo reordenadas e gravadas
+	public void runExclusive(Long listId, Runnable action) {
+		if (!enabled) {
+			action.run();
+			return;
+		}
+		ReentrantLock lock = lockFor(listId);
+		lock.lock();
+		try {
+			HotList hot = hotLists.get(listId);
+			if (hot != null) {
+				long[] order;
+				long sequence;
+				synchronized (hot) {
+					order = hot.order.clone();
+					sequence = hot.appliedSequence;
+				}
+				if (sequence > hot.flushedSequence) {
+					try {
+						transaction.executeWithoutResult(status -> writeDiff(listId, hot.persisted, order, sequence));
+					} catch (RuntimeException e) {
+						throw new DatabaseException("Não foi possível gravar as reordenações pendentes da lista: " + listId, e);
+					}
+				}
+				// um retrato desta lista tirado pelo flusher é descartado ao ver que ela saiu do mapa
+				hotLists.remove(listId);
+			}
+			action.run();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void move(Long listId, int sourceIndex, int destinationIndex) {
+		ReentrantLock lock = lockFor(listId);
+		lock.lock();
+		flushLock.readLock().lock();
+		try {
+			HotList hot = hotLists.computeIfAbsent(listId, this::load);
+			synchronized (hot) {
+				if (sourceIndex < 0 || sourceIndex >= hot.order.length) {
+					throw new IllegalArgumentException("O valor especificado para o índice inicial está fora dos limites: " + sourceIndex);
+				}
+				if (destinationIndex < 0 || destinationIndex >= hot.order.length) {
+					throw new IllegalArgumentException("O valor especificado para o índice de destino está fora dos limites: " + destinationIndex);
+				}
+				try {
+					hot.appliedSequence = journal.append(listId, hot.order[sourceIndex], sourceIndex, destinationIndex);
+				} catch (IOException e) {
+					throw new DatabaseException("Não foi possível registrar a reordenação no journal.", e);
+				}
+				apply(hot.order, sourceIndex, destinationIndex);
+				hot.dirty = true;
+				hot.lastAccess = System.currentTimeMillis();
+			}
+		} finally {
+			flushLock.readLock().unlock();
+			lock.unlock();
+		}
+	}
+
+	// retorna a lista na ordem em memória, ou null se a lista não estiver quente
+	public List<GameMinDTO> findByList(Long listId) {
+		HotList hot = enabled ? hotLists.get(listId) : null;
+		if (hot == null) {
+			return null;
+		}
+		synchronized (hot) {
+			return toDTOs(hot, 0, hot.order.length);
+		}
+	}
+
+	// retorna a janela de posições [from, to) na ordem em memória, ou null se a lista não estiver quente
+	public List<GameMinDTO> findByListWindow(Long listId, int from, int to) {
+		HotList hot = enabled ? hotLists.get(listId) : null;
+		if (hot == null) {
+			return null;
+		}
+		synchronized (hot) {
+			return toDTOs(hot, Math.min(from, hot.order.length), Math.min(to, hot.order.length));
+		}
+	}
+
+	// agrupa todas as reordenações acumuladas de cada lista em uma única gravação com as posições alteradas;
+	// cada lista é gravada na sua própria transação, sob o lock dela, e a flushed_seq gravada junto permite
+	// que o replay pule as listas já gravadas caso outra falhe ou o processo caia antes do truncamento do journal
+	@Scheduled(fixedDelayString = "${write-behind.flush-interval-ms}")
+	public synchronized void flush() {
+		if (!enabled) {
+			return;
+		}
+		Map<Long, Pending> snapshots = new HashMap<>();
+		long journalMark;
+		flushLock.writeLock().lock();
+		try {
+			long now = System.currentTimeMillis();
+			for (Map.Entry<Long, HotList> entry : hotLists.entrySet()) {
+				HotList hot = entry.getValue();
+				if (hot.dirty) {
+					snapshots.put(entry.getKey(), new Pending(hot, hot.order.clone(), hot.appliedSequence));
+					hot.dirty = false;
+				} else if (now - hot.lastAccess > idleEvictionMillis) {
+					hotLists.remove(entry.getKey());
+				}
+			}
+			journalMark = journal.size();
+		} catch (IOException e) {
+			throw new DatabaseException("Não foi possível ler o journal de reordenações.", e);
+		} finally {
+			flushLock.writeLock().unlock();
+		}
+		if (journalMark < ReorderJournal.HEADER_SIZE + ReorderJournal.RECORD_SIZE) {
+			return;
+		}
+
+		boolean failed = false;
+		for (Map.Entry<Long, Pending> entry : snapshots.entrySet()) {
+			failed |= !write(entry.getKey(), entry.getValue());
+		}
+		if (failed) {
+			logger.error("Falha ao gravar as reordenações pendentes; nova tentativa no próximo ciclo.");
+			return;
+		}
+		try {
+			journal.discardUntil(journalMark);
+		} catch (IOException e) {
+			logger.error("Falha ao truncar o journal de reordenações; os registros já gravados serão ignorados no replay.", e);
+		}
+	}
+
+	private boolean write(Long listId, Pending pending) {
+		HotList hot = pending.hot();
+		ReentrantLock lock = lockFor(listId);
+		lock.lock();
+		try {
+			// a lista saiu da memória (runExclusive já gravou as pendentes) ou foi recarregada depois do retrato
+			if (hotLists.get(listId) != hot || pending.sequence() <= hot.flushedSequence) {
+				return true;
+			}
+			transaction.executeWithoutResult(status -> writeDiff(listId, hot.persisted, pending.order(), pending.sequence()));
+			synchronized (hot) {
+				hot.persisted = pending.order();
+				hot.flushedSequence = pending.sequence();
+			}
+			return true;
+		} catch (RuntimeException e) {
+			logger.error("Falha ao gravar as reordenações pendentes da lista {}.", listId, e);
+			synchronized (hot) {
+				hot.dirty = true;
+			}
+			return false;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// grava as posições alteradas e, na mesma transação, a última sequência do journal incorporada:
+	// se o processo cair antes de o journal ser truncado, o replay sabe que esses registros já estão no BD
+	private void writeDiff(Long listId, long[] persisted, long[] order, long sequence) {
+		List<Object[]> updates = new ArrayList<>();
+		for (int i = 0; i < order.length; i++) {
+			if (order[i] != persisted[i]) {
+				updates.add(new Object[] { i, listId, order[i] });
+			}
+		}
+		jdbcTemplate.update("UPDATE tb_game_list SET flushed_seq = ? WHERE id = ?", sequence, listId);
+		if (updates.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate("UPDATE tb_belonging SET position = ? WHERE list_id = ? AND game_id = ?", updates);
+
+		// todas as reordenações acumuladas desde a última gravação formam uma única versão da lista
+		jdbcTemplate.update("UPDATE tb_game_list SET version = version + 1 WHERE id = ?", listId);
+		Long version = jdbcTemplate.queryForObject("SELECT version FROM tb_game_list WHERE id = ?", Long.class, listId);
+		List<Object[]> changes = new ArrayList<>(updates.size());
+		for (Object[] update : updates) {
+			changes.add(new Object[] { listId, version, update[2], update[0] });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO tb_list_change (list_id, version, game_id, position) VALUES (?, ?, ?, ?)", changes);
+	}
+
+	private void replay() throws IOException {
+		for (ReorderJournal.Entry entry : journal.readAll()) {
+			HotList hot;
+			try {
+				hot = hotLists.computeIfAbsent(entry.listId(), this::load);
+			} catch (ResourceNotFoundException e) {
+				logger.warn("Reordenação do journal ignorada: lista {} não existe mais.", entry.listId());
+				continue;
+			}
+			// registros até a sequência gravada junto com as posições já estão no BD
+			if (entry.sequence() <= hot.flushedSequence) {
+				continue;
+			}
+			// o registro guarda o jogo movido: se ele não está na origem, a lista mudou por fora do journal
+			if (entry.sourceIndex() < hot.order.length && entry.destinationIndex() < hot.order.length
+					&& hot.order[entry.sourceIndex()] == entry.gameId()) {
+				apply(hot.order, entry.sourceIndex(), entry.destinationIndex());
+			} else {
+				logger.warn("Reordenação {} do journal ignorada para a lista {}: jogo {} não está na posição {}.",
+						entry.sequence(), entry.listId(), entry.gameId(), entry.sourceIndex());
+			}
+			hot.appliedSequence = entry.sequence();
+			hot.dirty = true;
+		}
+	}
+
+	private ReentrantLock lockFor(Long listId) {
+		return listLocks.computeIfAbsent(listId, id -> new ReentrantLock());
+	}
+
+	private HotList load(Long listId) {
+		List<GameMinProjection> result = new ArrayList<>();
+		long flushedSequence = readOnlyTransaction.execute(status -> {
+			result.addAll(gameRepository.searchByList(listId));
+			try {
+				Long flushed = jdbcTemplate.queryForObject("SELECT flushed_seq FROM tb_game_list WHERE id = ?", Long.class, listId);
+				return flushed != null ? flushed : 0L;
+			} catch (EmptyResultDataAccessException e) {
+				return 0L;
+			}
+		});
+		if (result.isEmpty()) {
+			throw new ResourceNotFoundException("Nenhum jogo encontrado para o ID de lista especificado: " + listId);
+		}
+		long[] order = new long[result.size()];
+		Map<Long, GameMinDTO> games = new HashMap<>();
+		for (int i = 0; i < order.length; i++) {
+			GameMinProjection projection = result.get(i);
+			order[i] = projection.getId();
+			games.put(projection.getId(), new GameMinDTO(projection));
+		}
+		return new HotList(order, games, flushedSequence);
+	}
+
+	// os dados dos jogos ficam em cache enquanto a lista está quente: alterações são refletidas nele, e
+	// a remoção de um jogo tira a lista da memória para que a próxima leitura venha do BD
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onGameChanged(GameChangedEvent event) {
+		if (!enabled) {
+			return;
+		}
+		Long gameId = event.getGame().getId();
+		hotLists.forEach((listId, hot) -> {
+			boolean evict;
+			synchronized (hot) {
+				if (!hot.games.containsKey(gameId)) {
+					return;
+				}
+				evict = event.isRemoved();
+				if (!evict) {
+					hot.games.put(gameId, new GameMinDTO(event.getGame()));
+				}
+			}
+			if (evict) {
+				runExclusive(listId, () -> {
+				});
+			}
+		});
+	}
+
+	private static List<GameMinDTO> toDTOs(HotList hot, int from, int to) {
+		List<GameMinDTO> result = new ArrayList<>(Math.max(0, to - from));
+		for (int i = from; i < to; i++) {
+			result.add(hot.games.get(hot.order[i]));
+		}
+		hot.lastAccess = System.currentTimeMillis();
+		return result;
+	}
+
+	// mesma semântica de list.remove(source) seguido de list.add(destination, obj)
+	static void apply(long[] order, int source, int destination) {
+		long moved = order[source];
+		if (source < destination) {
+			System.arraycopy(order, source + 1, order, source, destination - source);
+		} else {
+			System.arraycopy(order, destination, order, destination + 1, source - destination);
+		}
+		order[destination] = moved;
+	}
+}
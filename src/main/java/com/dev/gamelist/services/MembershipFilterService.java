@@ -0,0 +1,164 @@
+package com.dev.gamelist.services;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dev.gamelist.events.GameChangedEvent;
+import com.dev.gamelist.repositories.GameListRepository;
+import com.dev.gamelist.repositories.GameRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+// filtros de Bloom com os IDs de jogos e de listas existentes, consultados antes de ir ao BD: IDs que
+// certamente não existem (scrapers, clientes desatualizados) são respondidos com 404 sem nenhuma consulta.
+// Os filtros são reconstruídos periodicamente (o que também descarta IDs removidos) e estendidos a cada inserção
+// de jogo feita por esta instância; IDs criados por fora só passam a existir para o filtro na reconstrução seguinte
+@Service
+public class MembershipFilterService {
+
+	private static final Logger logger = LoggerFactory.getLogger(MembershipFilterService.class);
+	private static final long MIN_CAPACITY = 1024;
+
+	@Autowired
+	private GameRepository gameRepository;
+
+	@Autowired
+	private GameListRepository gameListRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private CatalogSnapshotService catalogSnapshotService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${membership-filter.enabled}")
+	private boolean enabled;
+
+	@Value("${membership-filter.false-positive-rate}")
+	private double falsePositiveRate;
+
+	private volatile BloomFilter games;
+	private volatile BloomFilter lists;
+	// jogos inseridos durante uma reconstrução, reaplicados no filtro novo para não gerar falsos negativos
+	private volatile Set<Long> insertedDuringRebuild;
+
+	@PostConstruct
+	void init() {
+		if (!enabled) {
+			return;
+		}
+		// com um snapshot válido do catálogo, os IDs da carga inicial vêm dele em vez do BD
+		List<Long> gameIds = catalogSnapshotService.findAllGameIds();
+		List<Long> listIds = catalogSnapshotService.findAllListIds();
+		if (gameIds != null && listIds != null) {
+			games = build(gameIds);
+			lists = build(listIds);
+			logger.info("Filtros de existência carregados do snapshot: {} jogos, {} listas.", gameIds.size(), listIds.size());
+		} else {
+			rebuild();
+		}
+		registerGauges("games", () -> games);
+		registerGauges("lists", () -> lists);
+	}
+
+	// false apenas quando o jogo certamente não existe
+	public boolean mightContainGame(Long id) {
+		BloomFilter filter = games;
+		return filter == null || id == null || filter.mightContain(id);
+	}
+
+	// false apenas quando a lista certamente não existe
+	public boolean mightContainList(Long id) {
+		BloomFilter filter = lists;
+		return filter == null || id == null || filter.mightContain(id);
+	}
+
+	// registra o jogo assim que é persistido e novamente após o commit, para que uma reconstrução
+	// que leu os IDs antes do commit não o perca
+	@EventListener
+	public void onGameChanged(GameChangedEvent event) {
+		BloomFilter filter = games;
+		if (event.isRemoved() || filter == null) {
+			return;
+		}
+		Long id = event.getGame().getId();
+		filter.add(id);
+		Set<Long> pending = insertedDuringRebuild;
+		if (pending != null) {
+			pending.add(id);
+		}
+		// se uma reconstrução trocou o filtro depois da leitura acima, o conjunto de pendentes pode já ter
+		// sido reaplicado e descartado: o ID é incluído também no filtro atual
+		BloomFilter current = games;
+		if (current != filter) {
+			current.add(id);
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void afterGameChanged(GameChangedEvent event) {
+		onGameChanged(event);
+	}
+
+	@Scheduled(fixedDelayString = "${membership-filter.rebuild-interval-ms}")
+	public void scheduledRebuild() {
+		rebuild();
+	}
+
+	// reconstrói os filtros a partir dos IDs do BD, com folga para o crescimento até a próxima reconstrução
+	public synchronized void rebuild() {
+		if (!enabled) {
+			return;
+		}
+		Set<Long> pending = ConcurrentHashMap.newKeySet();
+		insertedDuringRebuild = pending;
+		try {
+			TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+			readOnlyTransaction.setReadOnly(true);
+			List<Long> gameIds = readOnlyTransaction.execute(status -> gameRepository.findAllIds());
+			List<Long> listIds = readOnlyTransaction.execute(status -> gameListRepository.findAllIds());
+			BloomFilter newGames = build(gameIds);
+			BloomFilter newLists = build(listIds);
+			games = newGames;
+			lists = newLists;
+			pending.forEach(newGames::add);
+			logger.info("Filtros de existência reconstruídos: {} jogos, {} listas.", gameIds.size(), listIds.size());
+		} catch (RuntimeException e) {
+			logger.error("Falha ao reconstruir os filtros de existência; as consultas seguem direto ao BD.", e);
+		} finally {
+			insertedDuringRebuild = null;
+		}
+	}
+
+	private BloomFilter build(List<Long> ids) {
+		BloomFilter filter = new BloomFilter(Math.max(MIN_CAPACITY, ids.size() * 2L), falsePositiveRate);
+		ids.forEach(filter::add);
+		return filter;
+	}
+
+	private void registerGauges(String name, Supplier<BloomFilter> filter) {
+		Gauge.builder("gamelist.membership-filter.false-positive-rate", filter,
+				f -> f.get() != null ? f.get().expectedFalsePositiveRate() : Double.NaN)
+				.tag("filter", name).register(meterRegistry);
+		Gauge.builder("gamelist.membership-filter.memory", filter, f -> f.get() != null ? f.get().memoryBytes() : 0)
+				.tag("filter", name).baseUnit("bytes").register(meterRegistry);
+	}
+}
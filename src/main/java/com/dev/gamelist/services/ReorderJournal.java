@@ -0,0 +1,143 @@
+package com.dev.gamelist.services;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// journal append-only das reordenações aceitas em memória e ainda não gravadas no BD.
+// cabeçalho de 8 bytes: magic "GLRJ" (4) e versão do formato (4); cada registro ocupa 32 bytes:
+// sequência (8), listId (8), gameId movido (8), índice de origem (4) e de destino (4).
+// A sequência é crescente e nunca reutilizada: o flusher grava no BD a última sequência incorporada
+// de cada lista, e o replay ignora os registros até ela
+public class ReorderJournal implements AutoCloseable {
+
+	public static final int MAGIC = 0x474C524A; // "GLRJ"
+	public static final int FORMAT_VERSION = 2;
+	public static final int HEADER_SIZE = 8;
+	public static final int RECORD_SIZE = 32;
+
+	public record Entry(long sequence, long listId, long gameId, int sourceIndex, int destinationIndex) {
+	}
+
+	private final Path path;
+	private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+	private FileChannel channel;
+	private long lastSequence;
+
+	// "sequenceFloor" é a maior sequência já gravada no BD, para que um journal vazio não reinicie a contagem
+	public ReorderJournal(Path path, long sequenceFloor) throws IOException {
+		this.path = path;
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		this.channel = open(path);
+		List<Entry> entries = readAll();
+		long last = entries.isEmpty() ? 0L : entries.get(entries.size() - 1).sequence();
+		this.lastSequence = Math.max(sequenceFloor, last);
+	}
+
+	// grava o registro e força a escrita em disco antes de a reordenação ser confirmada ao cliente;
+	// retorna a sequência atribuída
+	public synchronized long append(long listId, long gameId, int sourceIndex, int destinationIndex) throws IOException {
+		long sequence = lastSequence + 1;
+		record.clear();
+		record.putLong(sequence).putLong(listId).putLong(gameId).putInt(sourceIndex).putInt(destinationIndex).flip();
+		while (record.hasRemaining()) {
+			channel.write(record);
+		}
+		channel.force(false);
+		lastSequence = sequence;
+		return sequence;
+	}
+
+	// posição atual do fim do journal, usada como marca para discardUntil
+	public synchronized long size() throws IOException {
+		return channel.size();
+	}
+
+	public synchronized boolean isEmpty() throws IOException {
+		return channel.size() < HEADER_SIZE + RECORD_SIZE;
+	}
+
+	// lê todos os registros completos; um registro parcial no final já foi descartado na abertura
+	public synchronized List<Entry> readAll() throws IOException {
+		long recordBytes = channel.size() - HEADER_SIZE;
+		ByteBuffer buffer = ByteBuffer.allocate((int) (recordBytes - recordBytes % RECORD_SIZE));
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, HEADER_SIZE + buffer.position()) < 0) {
+				break;
+			}
+		}
+		buffer.flip();
+		List<Entry> entries = new ArrayList<>();
+		while (buffer.remaining() >= RECORD_SIZE) {
+			entries.add(new Entry(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getInt(), buffer.getInt()));
+		}
+		return entries;
+	}
+
+	// descarta os registros anteriores à marca (já gravados no BD), preservando os que chegaram depois;
+	// o restante é copiado para um arquivo temporário que substitui o journal de forma atômica
+	public synchronized void discardUntil(long mark) throws IOException {
+		Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			writeHeader(out);
+			long position = Math.max(mark, HEADER_SIZE);
+			long end = channel.size();
+			while (position < end) {
+				position += channel.transferTo(position, end - position, out);
+			}
+			out.force(true);
+		}
+		channel.close();
+		Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		channel = open(path);
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		channel.close();
+	}
+
+	private static FileChannel open(Path path) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		if (channel.size() == 0) {
+			writeHeader(channel);
+			channel.force(true);
+		} else {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			channel.read(header, 0);
+			header.flip();
+			if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+				channel.close();
+				throw new IOException("Journal de reordenações em formato desconhecido: " + path);
+			}
+			// registro parcial no final (queda durante a escrita): sem o truncamento, os próximos registros
+			// seriam gravados depois desses bytes e ficariam desalinhados no replay
+			long recordBytes = channel.size() - HEADER_SIZE;
+			long complete = HEADER_SIZE + recordBytes - recordBytes % RECORD_SIZE;
+			if (complete < channel.size()) {
+				channel.truncate(complete);
+				channel.force(true);
+			}
+		}
+		channel.position(channel.size());
+		return channel;
+	}
+
+	// escrita relativa: o canal deve estar na posição 0 (arquivo novo ou truncado)
+	private static void writeHeader(FileChannel channel) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+		while (header.hasRemaining()) {
+			channel.write(header);
+		}
+	}
+}
@@ -0,0 +1,472 @@
+package com.dev.gamelist.services;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dev.gamelist.dto.GameMinDTO;
+import com.dev.gamelist.entities.Game;
+import com.dev.gamelist.events.GameChangedEvent;
+import com.dev.gamelist.exceptions.ResourceNotFoundException;
+import com.dev.gamelist.repositories.GameRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// recomendações "jogos parecidos" pré-calculadas: cada jogo é codificado em primitivos
+// (bitsets de gênero e plataformas, ano e nota) e os K vizinhos mais próximos ficam em memória
+@Service
+public class SimilarGamesService {
+
+	private static final Logger logger = LoggerFactory.getLogger(SimilarGamesService.class);
+
+	// pesos de cada componente da similaridade
+	private static final double GENRE_WEIGHT = 0.5;
+	private static final double PLATFORM_WEIGHT = 0.2;
+	private static final double SCORE_WEIGHT = 0.2;
+	private static final double YEAR_WEIGHT = 0.1;
+	private static final double MAX_SCORE = 5.0;
+	private static final double MAX_YEAR_DISTANCE = 30.0;
+
+	@Autowired
+	private GameRepository gameRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private CatalogSnapshotService catalogSnapshotService;
+
+	@Value("${similar-games.max-k}")
+	private int maxK;
+
+	private ForkJoinPool pool;
+	private ExecutorService updater;
+	// modelo imutável, substituído por inteiro a cada mudança (copy-on-write)
+	private volatile Model model;
+
+	// vetores de características e vizinhos; a posição i de cada array corresponde ao mesmo jogo.
+	// Gêneros e plataformas são bitsets por linha: cada termo recebe um código do seu dicionário, e a
+	// linha i ocupa as palavras [i * genreWords, (i + 1) * genreWords) de genres (idem para platforms)
+	static final class Model {
+		final long[] ids;
+		final long[] genres;
+		final int genreWords;
+		final long[] platforms;
+		final int platformWords;
+		final int[] years;
+		final double[] scores;
+		final GameMinDTO[] games;
+		final int[][] neighbors;
+		final Map<Long, Integer> indexById;
+		final Map<String, Integer> genreCodes;
+		final Map<String, Integer> platformCodes;
+
+		Model(long[] ids, long[] genres, Map<String, Integer> genreCodes, long[] platforms,
+				Map<String, Integer> platformCodes, int[] years, double[] scores, GameMinDTO[] games, int[][] neighbors) {
+			this.ids = ids;
+			this.genres = genres;
+			this.genreCodes = genreCodes;
+			this.genreWords = words(genreCodes.size());
+			this.platforms = platforms;
+			this.platformCodes = platformCodes;
+			this.platformWords = words(platformCodes.size());
+			this.years = years;
+			this.scores = scores;
+			this.games = games;
+			this.neighbors = neighbors;
+			this.indexById = new HashMap<>();
+			for (int i = 0; i < ids.length; i++) {
+				indexById.put(ids[i], i);
+			}
+		}
+
+		// codifica o catálogo inteiro; os vizinhos ficam vazios até o cálculo
+		static Model of(List<Game> catalog) {
+			int n = catalog.size();
+			Map<String, Integer> genreCodes = new HashMap<>();
+			Map<String, Integer> platformCodes = new HashMap<>();
+			long[] ids = new long[n];
+			for (int i = 0; i < n; i++) {
+				Game game = catalog.get(i);
+				ids[i] = game.getId();
+				terms(game.getGenre()).forEach(term -> genreCodes.putIfAbsent(term, genreCodes.size()));
+				terms(game.getPlatforms()).forEach(term -> platformCodes.putIfAbsent(term, platformCodes.size()));
+			}
+			Model model = new Model(ids, new long[n * words(genreCodes.size())], genreCodes,
+					new long[n * words(platformCodes.size())], platformCodes, new int[n], new double[n],
+					new GameMinDTO[n], new int[n][]);
+			for (int i = 0; i < n; i++) {
+				encode(catalog.get(i), i, model);
+			}
+			return model;
+		}
+
+		int size() {
+			return ids.length;
+		}
+	}
+
+	@PostConstruct
+	void init() {
+		pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		// uma única thread mantém a ordem dos eventos e tira o recálculo da thread que fez o commit
+		updater = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "similar-games-updater");
+			thread.setDaemon(true);
+			return thread;
+		});
+		// com um snapshot válido do catálogo, a carga inicial não precisa varrer a tabela de jogos
+		List<Game> catalog = catalogSnapshotService.findAllGames();
+		if (catalog != null) {
+			load(catalog);
+		} else {
+			rebuild();
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		updater.shutdownNow();
+		pool.shutdown();
+	}
+
+	public List<GameMinDTO> findSimilar(Long id, int k) {
+		if (k < 1 || k > maxK) {
+			throw new IllegalArgumentException("O valor de k deve estar entre 1 e " + maxK + ": " + k);
+		}
+		Model current = model;
+		Integer index = current.indexById.get(id);
+		if (index == null) {
+			throw new ResourceNotFoundException("Título de jogo não encontrado para o ID: " + id);
+		}
+		int[] neighbors = current.neighbors[index];
+		List<GameMinDTO> result = new ArrayList<>(Math.min(k, neighbors.length));
+		for (int i = 0; i < neighbors.length && i < k; i++) {
+			result.add(current.games[neighbors[i]]);
+		}
+		return result;
+	}
+
+	// recalcula todos os vizinhos a partir do catálogo completo, em paralelo no pool fork-join
+	public synchronized void rebuild() {
+		// transação própria: pode ser chamado a partir de um listener AFTER_COMMIT, cuja transação já terminou
+		TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		readOnlyTransaction.setReadOnly(true);
+		load(readOnlyTransaction.execute(status -> gameRepository.findAll()));
+	}
+
+	private synchronized void load(List<Game> catalog) {
+		Model rebuilt = Model.of(catalog);
+		computeRows(rebuilt, IntStream.range(0, rebuilt.size()));
+		model = rebuilt;
+	}
+
+	// o recálculo roda na thread de atualização; até terminar, as consultas veem o modelo anterior
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onGameChanged(GameChangedEvent event) {
+		try {
+			updater.execute(() -> {
+				try {
+					apply(event);
+				} catch (RuntimeException e) {
+					logger.error("Falha ao atualizar jogos parecidos para o jogo {}", event.getGame().getId(), e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			logger.debug("Atualização de jogos parecidos descartada durante o desligamento");
+		}
+	}
+
+	// atualização incremental: recalcula a linha do jogo alterado e apenas as linhas
+	// em que ele entrou, saiu ou mudou de posição entre os K vizinhos
+	synchronized void apply(GameChangedEvent event) {
+		Game game = event.getGame();
+		if (game.getId() == null) {
+			return;
+		}
+		Model current = model;
+		Integer existing = current.indexById.get(game.getId());
+		if (event.isRemoved()) {
+			if (existing != null) {
+				remove(current, existing);
+			}
+			return;
+		}
+
+		int index = existing != null ? existing : current.size();
+		int n = existing != null ? current.size() : current.size() + 1;
+
+		Map<String, Integer> genreCodes = withTerms(current.genreCodes, game.getGenre());
+		Map<String, Integer> platformCodes = withTerms(current.platformCodes, game.getPlatforms());
+		long[] ids = Arrays.copyOf(current.ids, n);
+		ids[index] = game.getId();
+		long[] genres = copyBits(current.genres, current.genreWords, words(genreCodes.size()), n, index);
+		long[] platforms = copyBits(current.platforms, current.platformWords, words(platformCodes.size()), n, index);
+		int[] years = Arrays.copyOf(current.years, n);
+		double[] scores = Arrays.copyOf(current.scores, n);
+		GameMinDTO[] games = Arrays.copyOf(current.games, n);
+		int[][] neighbors = Arrays.copyOf(current.neighbors, n);
+		Model updated = new Model(ids, genres, genreCodes, platforms, platformCodes, years, scores, games, neighbors);
+		encode(game, index, updated);
+
+		int[] affected = IntStream.range(0, n)
+				.filter(i -> i == index || isAffected(updated, i, index, maxK))
+				.toArray();
+		computeRows(updated, Arrays.stream(affected));
+		model = updated;
+	}
+
+	// remoção: compacta os arrays sem a linha removida e recalcula só as linhas que a tinham
+	// entre os vizinhos; nas demais basta renumerar os índices posteriores
+	private void remove(Model current, int removed) {
+		int n = current.size() - 1;
+		long[] ids = without(current.ids, new long[n], removed);
+		long[] genres = without(current.genres, new long[n * current.genreWords], removed, current.genreWords);
+		long[] platforms = without(current.platforms, new long[n * current.platformWords], removed,
+				current.platformWords);
+		int[] years = without(current.years, new int[n], removed);
+		double[] scores = without(current.scores, new double[n], removed);
+		GameMinDTO[] games = without(current.games, new GameMinDTO[n], removed);
+
+		int[][] neighbors = new int[n][];
+		List<Integer> affected = new ArrayList<>();
+		for (int i = 0, row = 0; i <= n; i++) {
+			if (i == removed) {
+				continue;
+			}
+			int[] previous = current.neighbors[i];
+			int[] remapped = new int[previous.length];
+			for (int j = 0; j < previous.length && remapped != null; j++) {
+				if (previous[j] == removed) {
+					remapped = null;
+				} else {
+					remapped[j] = previous[j] > removed ? previous[j] - 1 : previous[j];
+				}
+			}
+			if (remapped == null) {
+				affected.add(row);
+			} else {
+				neighbors[row] = remapped;
+			}
+			row++;
+		}
+		Model updated = new Model(ids, genres, current.genreCodes, platforms, current.platformCodes, years, scores,
+				games, neighbors);
+		computeRows(updated, affected.stream().mapToInt(Integer::intValue));
+		model = updated;
+	}
+
+	// copia o array de origem para o destino, que tem uma linha a menos, pulando a removida
+	private static <T> T without(T values, T result, int removed) {
+		return without(values, result, removed, 1);
+	}
+
+	// idem, para arrays com "width" posições por linha (bitsets)
+	private static <T> T without(T values, T result, int removed, int width) {
+		int length = Array.getLength(result);
+		System.arraycopy(values, 0, result, 0, removed * width);
+		System.arraycopy(values, (removed + 1) * width, result, removed * width, length - removed * width);
+		return result;
+	}
+
+	// copia os bitsets para n linhas de "words" palavras, alargando todas as linhas se o dicionário passou de
+	// um múltiplo de 64 termos, e zera a linha que será codificada de novo
+	private static long[] copyBits(long[] bits, int previousWords, int words, int n, int row) {
+		long[] copy;
+		if (words == previousWords) {
+			copy = Arrays.copyOf(bits, n * words);
+		} else {
+			copy = new long[n * words];
+			for (int i = 0; i < bits.length / previousWords; i++) {
+				System.arraycopy(bits, i * previousWords, copy, i * words, previousWords);
+			}
+		}
+		Arrays.fill(copy, row * words, (row + 1) * words, 0L);
+		return copy;
+	}
+
+	// o dicionário é compartilhado com o modelo anterior: só é copiado quando o jogo traz termos novos
+	private static Map<String, Integer> withTerms(Map<String, Integer> codes, String values) {
+		Map<String, Integer> result = codes;
+		for (String term : terms(values)) {
+			if (!result.containsKey(term)) {
+				if (result == codes) {
+					result = new HashMap<>(codes);
+				}
+				result.put(term, result.size());
+			}
+		}
+		return result;
+	}
+
+	// a linha precisa ser recalculada se ainda não tem K vizinhos, se o jogo alterado já estava
+	// entre eles ou se agora ele supera o pior vizinho atual
+	static boolean isAffected(Model m, int row, int changed, int k) {
+		int[] current = m.neighbors[row];
+		if (current.length < k) {
+			return true;
+		}
+		for (int neighbor : current) {
+			if (neighbor == changed) {
+				return true;
+			}
+		}
+		return similarity(m, row, changed) > similarity(m, row, current[current.length - 1]);
+	}
+
+	private void computeRows(Model m, IntStream rows) {
+		try {
+			pool.submit(() -> rows.parallel().forEach(i -> m.neighbors[i] = topK(m, i, maxK))).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Cálculo de jogos parecidos interrompido.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Falha ao calcular jogos parecidos.", e.getCause());
+		}
+	}
+
+	// seleciona os K mais parecidos com um heap mínimo limitado, sem ordenar o catálogo inteiro
+	static int[] topK(Model m, int row, int k) {
+		int capacity = Math.min(k, m.size() - 1);
+		int[] heap = new int[Math.max(capacity, 0)];
+		double[] heapSimilarity = new double[heap.length];
+		int size = 0;
+		for (int j = 0; j < m.size(); j++) {
+			if (j == row || heap.length == 0) {
+				continue;
+			}
+			double similarity = similarity(m, row, j);
+			if (size < heap.length) {
+				heap[size] = j;
+				heapSimilarity[size] = similarity;
+				siftUp(heap, heapSimilarity, size++);
+			} else if (similarity > heapSimilarity[0]) {
+				heap[0] = j;
+				heapSimilarity[0] = similarity;
+				siftDown(heap, heapSimilarity, size);
+			}
+		}
+		// esvazia o heap do menor para o maior, preenchendo o resultado de trás para frente
+		int[] result = new int[size];
+		for (int i = size - 1; i >= 0; i--) {
+			result[i] = heap[0];
+			heap[0] = heap[i];
+			heapSimilarity[0] = heapSimilarity[i];
+			siftDown(heap, heapSimilarity, i);
+		}
+		return result;
+	}
+
+	static double similarity(Model m, int a, int b) {
+		double genre = jaccard(m.genres, m.genreWords, a, b);
+		double platform = jaccard(m.platforms, m.platformWords, a, b);
+		double score = 1.0 - Math.abs(m.scores[a] - m.scores[b]) / MAX_SCORE;
+		double year = 1.0 - Math.min(Math.abs(m.years[a] - m.years[b]), MAX_YEAR_DISTANCE) / MAX_YEAR_DISTANCE;
+		return GENRE_WEIGHT * genre + PLATFORM_WEIGHT * platform + SCORE_WEIGHT * score + YEAR_WEIGHT * year;
+	}
+
+	private static double jaccard(long[] bits, int words, int a, int b) {
+		int intersection = 0;
+		int union = 0;
+		for (int i = a * words, j = b * words, end = i + words; i < end; i++, j++) {
+			intersection += Long.bitCount(bits[i] & bits[j]);
+			union += Long.bitCount(bits[i] | bits[j]);
+		}
+		return union == 0 ? 0.0 : (double) intersection / union;
+	}
+
+	// preenche as características da linha i, cujo id já está no modelo; os termos do jogo já devem estar
+	// nos dicionários e os bitsets da linha, zerados
+	private static void encode(Game game, int i, Model m) {
+		for (String term : terms(game.getGenre())) {
+			int code = m.genreCodes.get(term);
+			m.genres[i * m.genreWords + code / Long.SIZE] |= 1L << (code % Long.SIZE);
+		}
+		for (String term : terms(game.getPlatforms())) {
+			int code = m.platformCodes.get(term);
+			m.platforms[i * m.platformWords + code / Long.SIZE] |= 1L << (code % Long.SIZE);
+		}
+		m.years[i] = game.getYear() != null ? game.getYear() : 0;
+		m.scores[i] = game.getScore() != null ? game.getScore() : 0.0;
+		m.games[i] = new GameMinDTO(game);
+	}
+
+	// cada termo separado por vírgula recebe um bit próprio no bitset da linha
+	private static List<String> terms(String values) {
+		List<String> terms = new ArrayList<>();
+		if (values != null) {
+			for (String value : values.split(",")) {
+				String term = value.trim().toLowerCase();
+				if (!term.isEmpty()) {
+					terms.add(term);
+				}
+			}
+		}
+		return terms;
+	}
+
+	private static int words(int terms) {
+		return Math.max(1, (terms + Long.SIZE - 1) / Long.SIZE);
+	}
+
+	private static void siftUp(int[] heap, double[] similarity, int i) {
+		while (i > 0) {
+			int parent = (i - 1) / 2;
+			if (similarity[i] >= similarity[parent]) {
+				return;
+			}
+			swap(heap, similarity, i, parent);
+			i = parent;
+		}
+	}
+
+	private static void siftDown(int[] heap, double[] similarity, int size) {
+		int i = 0;
+		while (true) {
+			int left = 2 * i + 1;
+			int right = left + 1;
+			int smallest = i;
+			if (left < size && similarity[left] < similarity[smallest]) {
+				smallest = left;
+			}
+			if (right < size && similarity[right] < similarity[smallest]) {
+				smallest = right;
+			}
+			if (smallest == i) {
+				return;
+			}
+			swap(heap, similarity, i, smallest);
+			i = smallest;
+		}
+	}
+
+	private static void swap(int[] heap, double[] similarity, int a, int b) {
+		int index = heap[a];
+		heap[a] = heap[b];
+		heap[b] = index;
+		double value = similarity[a];
+		similarity[a] = similarity[b];
+		similarity[b] = value;
+	}
+}
@@ -0,0 +1,76 @@
+package com.dev.gamelist.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import com.dev.gamelist.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// agrupa chamadas concorrentes para a mesma chave: apenas a primeira executa a consulta,
+// as demais aguardam (até o tempo limite) e recebem o mesmo resultado ou a mesma exceção
+public class SingleFlight<K, V> {
+
+	private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+	private final String name;
+	private final long timeoutMillis;
+	private final long retryAfterSeconds;
+	private final Counter executions;
+	private final Counter coalesced;
+	private final Counter timeouts;
+
+	// "retryAfterSeconds" vai no header Retry-After do 503 devolvido a quem desiste de aguardar
+	public SingleFlight(String name, long timeoutMillis, long retryAfterSeconds, MeterRegistry registry) {
+		this.name = name;
+		this.timeoutMillis = timeoutMillis;
+		this.retryAfterSeconds = retryAfterSeconds;
+		this.executions = Counter.builder("gamelist.singleflight.executions").tag("name", name).register(registry);
+		this.coalesced = Counter.builder("gamelist.singleflight.coalesced").tag("name", name).register(registry);
+		this.timeouts = Counter.builder("gamelist.singleflight.timeouts").tag("name", name).register(registry);
+	}
+
+	public V execute(K key, Supplier<V> loader) {
+		CompletableFuture<V> created = new CompletableFuture<>();
+		CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+
+		if (existing == null) {
+			executions.increment();
+			try {
+				V value = loader.get();
+				created.complete(value);
+				return value;
+			} catch (RuntimeException | Error ex) {
+				created.completeExceptionally(ex);
+				throw ex;
+			} finally {
+				inFlight.remove(key, created);
+			}
+		}
+
+		coalesced.increment();
+		try {
+			return existing.get(timeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			timeouts.increment();
+			throw new ServiceUnavailableException("Tempo esgotado aguardando consulta em andamento (" + name + ").",
+					retryAfterSeconds);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ServiceUnavailableException("Consulta interrompida (" + name + ").", retryAfterSeconds);
+		} catch (ExecutionException e) {
+			// repassa a exceção original para que cada chamador seja tratado como se tivesse executado a consulta
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+}
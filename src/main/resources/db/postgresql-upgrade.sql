@@ -0,0 +1,43 @@
+-- Atualizações de esquema para bancos existentes (perfis dev/prod usam spring.jpa.hibernate.ddl-auto=none).
+-- Execute os blocos em ordem; cada um é seguro de reexecutar.
+
+-- Janelas de posições e total da lista (X-Total-Count)
+ALTER TABLE tb_game_list ADD COLUMN IF NOT EXISTS game_count INTEGER;
+UPDATE tb_game_list l SET game_count = (SELECT COUNT(*) FROM tb_belonging b WHERE b.list_id = l.id)
+	WHERE game_count IS NULL;
+ALTER TABLE tb_game_list ALTER COLUMN game_count SET NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_belonging_list_position ON tb_belonging (list_id, position);
+
+-- Modo write-behind: última sequência do journal de reordenações gravada em cada lista
+ALTER TABLE tb_game_list ADD COLUMN IF NOT EXISTS flushed_seq BIGINT;
+
+-- Assinatura do snapshot do catálogo: versão de cada jogo, incrementada pelo Hibernate (@Version)
+-- e, por trigger, também nas alterações feitas direto no BD. Com @Version, o Hibernate usa a coluna para
+-- bloqueio otimista (UPDATE ... WHERE row_version = ?) e não aceita linhas com valor nulo: o preenchimento
+-- abaixo precisa rodar antes de a aplicação nova subir
+ALTER TABLE tb_game ADD COLUMN IF NOT EXISTS row_version BIGINT;
+UPDATE tb_game SET row_version = 0 WHERE row_version IS NULL;
+ALTER TABLE tb_game ALTER COLUMN row_version SET DEFAULT 0;
+ALTER TABLE tb_game ALTER COLUMN row_version SET NOT NULL;
+CREATE OR REPLACE FUNCTION tb_game_bump_row_version() RETURNS trigger AS $$
+BEGIN
+	IF NEW.row_version = OLD.row_version THEN
+		NEW.row_version := OLD.row_version + 1;
+	END IF;
+	RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+DROP TRIGGER IF EXISTS trg_game_row_version ON tb_game;
+CREATE TRIGGER trg_game_row_version BEFORE UPDATE ON tb_game
+	FOR EACH ROW EXECUTE FUNCTION tb_game_bump_row_version();
+
+-- Sincronização incremental das listas: versão de cada lista e log de mudanças de posição por versão
+ALTER TABLE tb_game_list ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+CREATE TABLE IF NOT EXISTS tb_list_change (
+	id BIGSERIAL PRIMARY KEY,
+	list_id BIGINT NOT NULL,
+	version BIGINT NOT NULL,
+	game_id BIGINT NOT NULL,
+	position INTEGER NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_list_change_list_version ON tb_list_change (list_id, version);
@@ -0,0 +1,102 @@
+package com.dev.gamelist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.dev.gamelist.config.AdaptiveConcurrencyLimiter;
+
+class AdaptiveConcurrencyLimiterTests {
+
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+	@Test
+	void rejectsWhenSaturatedAndAdmitsAfterRelease() throws Exception {
+		AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.fixed("test", 2);
+		assertTrue(limiter.tryAcquire(0, TimeUnit.MILLISECONDS));
+		assertTrue(limiter.tryAcquire(0, TimeUnit.MILLISECONDS));
+		assertFalse(limiter.tryAcquire(10, TimeUnit.MILLISECONDS));
+		assertEquals(2, limiter.getInFlight());
+
+		limiter.release(FAST);
+		assertTrue(limiter.tryAcquire(0, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void waitingRequestIsAdmittedWhenSlotIsReleased() throws Exception {
+		AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.fixed("test", 1);
+		assertTrue(limiter.tryAcquire(0, TimeUnit.MILLISECONDS));
+		Thread releaser = new Thread(() -> {
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			limiter.release(FAST);
+		});
+		releaser.start();
+		assertTrue(limiter.tryAcquire(5, TimeUnit.SECONDS));
+		releaser.join();
+	}
+
+	@Test
+	void slowResponsesShrinkLimitMultiplicativelyDownToMinimum() throws Exception {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 10, 100);
+		assertEquals(10, limiter.getLimit());
+
+		limiter.tryAcquire(0, TimeUnit.MILLISECONDS);
+		limiter.release(SLOW);
+		assertEquals(9, limiter.getLimit());
+
+		for (int i = 0; i < 50; i++) {
+			limiter.tryAcquire(0, TimeUnit.MILLISECONDS);
+			limiter.release(SLOW);
+		}
+		assertEquals(2, limiter.getLimit());
+	}
+
+	@Test
+	void fastResponsesGrowLimitAdditivelyOnlyWhenSaturated() throws Exception {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 10, 100);
+		for (int i = 0; i < 20; i++) {
+			limiter.tryAcquire(0, TimeUnit.MILLISECONDS);
+			limiter.release(SLOW);
+		}
+		assertEquals(2, limiter.getLimit());
+
+		// com folga (1 de 2 vagas em uso) o limite não cresce
+		for (int i = 0; i < 20; i++) {
+			limiter.tryAcquire(0, TimeUnit.MILLISECONDS);
+			limiter.release(FAST);
+		}
+		assertEquals(2, limiter.getLimit());
+
+		// saturado, cada resposta rápida soma 1/limite: cerca de "limite" respostas para crescer uma vaga
+		// (2 -> 2,5 -> 2,9 -> 3,24 -> 3,55 -> 3,83 -> 4,1)
+		for (int i = 0; i < 6; i++) {
+			int acquired = 0;
+			while (limiter.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+				acquired++;
+			}
+			for (int j = 0; j < acquired; j++) {
+				limiter.release(FAST);
+			}
+		}
+		assertEquals(4, limiter.getLimit());
+	}
+
+	@Test
+	void fixedLimiterIgnoresLatency() throws Exception {
+		AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.fixed("writes", 3);
+		for (int i = 0; i < 10; i++) {
+			limiter.tryAcquire(0, TimeUnit.MILLISECONDS);
+			limiter.release(SLOW);
+		}
+		assertEquals(3, limiter.getLimit());
+	}
+}
@@ -0,0 +1,110 @@
+package com.dev.gamelist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dev.gamelist.config.AdaptiveConcurrencyLimiter;
+import com.dev.gamelist.config.AdmissionControlInterceptor;
+import com.dev.gamelist.exceptions.ApiExceptionHandler;
+
+// bulkheads separados por grupo e rejeição rápida com 503 + Retry-After quando o grupo está saturado
+class AdmissionControlTests {
+
+	private AdaptiveConcurrencyLimiter catalogReads;
+	private AdaptiveConcurrencyLimiter listReads;
+	private AdaptiveConcurrencyLimiter writes;
+	private MockMvc mockMvc;
+
+	@RestController
+	static class StubController {
+
+		@GetMapping("/games/1")
+		String game() {
+			return "game";
+		}
+
+		@GetMapping("/lists/1/games")
+		String list() {
+			return "list";
+		}
+
+		@PostMapping("/lists/1/replacement")
+		void move() {
+		}
+
+		@GetMapping("/lists/1/events")
+		Callable<String> events() {
+			return () -> "events";
+		}
+	}
+
+	@BeforeEach
+	void setUp() {
+		catalogReads = AdaptiveConcurrencyLimiter.fixed("catalog-reads", 1);
+		listReads = AdaptiveConcurrencyLimiter.fixed("list-reads", 1);
+		writes = AdaptiveConcurrencyLimiter.fixed("writes", 1);
+		mockMvc = MockMvcBuilders.standaloneSetup(new StubController())
+				.setControllerAdvice(new ApiExceptionHandler())
+				.addInterceptors(new AdmissionControlInterceptor(catalogReads, listReads, writes, 10, 10, 7))
+				.build();
+	}
+
+	@Test
+	void saturatedGroupIsRejectedWithRetryAfter() throws Exception {
+		assertTrue(listReads.tryAcquire(0, TimeUnit.MILLISECONDS));
+
+		mockMvc.perform(get("/lists/1/games"))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"));
+	}
+
+	@Test
+	void saturatedWritesDoNotBlockReads() throws Exception {
+		assertTrue(writes.tryAcquire(0, TimeUnit.MILLISECONDS));
+
+		mockMvc.perform(post("/lists/1/replacement")).andExpect(status().isServiceUnavailable());
+		mockMvc.perform(get("/lists/1/games")).andExpect(status().isOk());
+		mockMvc.perform(get("/games/1")).andExpect(status().isOk());
+	}
+
+	@Test
+	void asyncDispatchDoesNotCompeteForAnotherSlot() throws Exception {
+		MvcResult started = mockMvc.perform(get("/lists/1/events"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		started.getAsyncResult();
+		assertEquals(0, listReads.getInFlight());
+
+		// com o grupo saturado, o redespacho da requisição já admitida ainda é concluído
+		assertTrue(listReads.tryAcquire(0, TimeUnit.MILLISECONDS));
+		mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+		assertEquals(1, listReads.getInFlight());
+	}
+
+	@Test
+	void slotIsReleasedAfterEachRequest() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			mockMvc.perform(get("/games/1")).andExpect(status().isOk());
+		}
+		assertEquals(0, catalogReads.getInFlight());
+	}
+}
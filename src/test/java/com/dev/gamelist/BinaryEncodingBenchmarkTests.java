@@ -0,0 +1,93 @@
+package com.dev.gamelist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dev.gamelist.dto.GameDTO;
+import com.dev.gamelist.dto.GameMinDTO;
+import com.dev.gamelist.entities.Game;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+// compara tamanho do payload e custo de codificação/decodificação de JSON, CBOR e Smile
+// para uma lista grande, garantindo que as codificações binárias façam o round-trip exato
+class BinaryEncodingBenchmarkTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(BinaryEncodingBenchmarkTests.class);
+
+	private static final int LIST_SIZE = 10_000;
+	private static final int ITERATIONS = 20;
+
+	private final ObjectMapper json = new ObjectMapper();
+	private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+	private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+	@Test
+	void binaryEncodingsRoundTripGameDTO() throws Exception {
+		GameDTO original = new GameDTO(game(1L));
+		for (ObjectMapper mapper : List.of(cbor, smile)) {
+			GameDTO decoded = mapper.readValue(mapper.writeValueAsBytes(original), GameDTO.class);
+			assertEquals(json.valueToTree(original), json.valueToTree(decoded));
+		}
+	}
+
+	@Test
+	void compareEncodingsForLargeList() throws Exception {
+		List<GameMinDTO> games = new ArrayList<>();
+		for (long id = 1; id <= LIST_SIZE; id++) {
+			games.add(new GameMinDTO(game(id)));
+		}
+
+		byte[] jsonBytes = benchmark("JSON", json, games);
+		byte[] cborBytes = benchmark("CBOR", cbor, games);
+		byte[] smileBytes = benchmark("Smile", smile, games);
+
+		assertTrue(cborBytes.length < jsonBytes.length);
+		assertTrue(smileBytes.length < jsonBytes.length);
+	}
+
+	private byte[] benchmark(String name, ObjectMapper mapper, List<GameMinDTO> games) throws Exception {
+		TypeReference<List<GameMinDTO>> type = new TypeReference<>() {
+		};
+		byte[] bytes = mapper.writeValueAsBytes(games);
+		List<GameMinDTO> decoded = mapper.readValue(bytes, type);
+		assertEquals(json.valueToTree(games), json.valueToTree(decoded));
+
+		// aquecimento do JIT antes da medição
+		for (int i = 0; i < ITERATIONS; i++) {
+			mapper.readValue(mapper.writeValueAsBytes(games), type);
+		}
+		long encodeNanos = 0L;
+		long decodeNanos = 0L;
+		for (int i = 0; i < ITERATIONS; i++) {
+			long start = System.nanoTime();
+			bytes = mapper.writeValueAsBytes(games);
+			encodeNanos += System.nanoTime() - start;
+			start = System.nanoTime();
+			mapper.readValue(bytes, type);
+			decodeNanos += System.nanoTime() - start;
+		}
+		logger.info("{} {} bytes | encode {} us | decode {} us", name, bytes.length,
+				TimeUnit.NANOSECONDS.toMicros(encodeNanos / ITERATIONS),
+				TimeUnit.NANOSECONDS.toMicros(decodeNanos / ITERATIONS));
+		return bytes;
+	}
+
+	private static Game game(Long id) {
+		return new Game(id, "Game " + id, 1990 + (int) (id % 35), "Role-playing (RPG), Adventure",
+				"XBox, Playstation, PC", 3.5 + (id % 15) / 10.0,
+				"https://raw.githubusercontent.com/devsuperior/java-spring-dslist/main/resources/" + (id % 10 + 1) + ".png",
+				"Lorem ipsum dolor sit amet consectetur adipisicing elit.",
+				"Lorem ipsum dolor sit amet consectetur adipisicing elit. Delectus dolorum illum placeat eligendi.");
+	}
+}
@@ -0,0 +1,68 @@
+package com.dev.gamelist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+// negociação de conteúdo de ponta a ponta: os controllers devem responder em CBOR e Smile
+// quando pedido pelo Accept, com o mesmo conteúdo da resposta JSON
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryEncodingControllerTests {
+
+	private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+	private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private final ObjectMapper json = new ObjectMapper();
+
+	@Test
+	void findGameByIdAnswersInCbor() throws Exception {
+		assertSameContent("/games/1", CBOR, new ObjectMapper(new CBORFactory()));
+	}
+
+	@Test
+	void findGameByIdAnswersInSmile() throws Exception {
+		assertSameContent("/games/1", SMILE, new ObjectMapper(new SmileFactory()));
+	}
+
+	@Test
+	void searchByListAnswersInCbor() throws Exception {
+		assertSameContent("/lists/1/games", CBOR, new ObjectMapper(new CBORFactory()));
+	}
+
+	@Test
+	void searchByListAnswersInSmile() throws Exception {
+		assertSameContent("/lists/1/games", SMILE, new ObjectMapper(new SmileFactory()));
+	}
+
+	private void assertSameContent(String path, MediaType mediaType, ObjectMapper mapper) throws Exception {
+		MockHttpServletResponse expected = mockMvc.perform(get(path).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+		MockHttpServletResponse binary = mockMvc.perform(get(path).accept(mediaType))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+
+		MediaType contentType = MediaType.parseMediaType(binary.getContentType());
+		assertTrue(mediaType.isCompatibleWith(contentType), "Content-Type inesperado: " + contentType);
+		JsonNode decoded = mapper.readTree(binary.getContentAsByteArray());
+		assertEquals(json.readTree(expected.getContentAsByteArray()), decoded);
+	}
+}
@@ -0,0 +1,32 @@
+package com.dev.gamelist;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.dev.gamelist.services.BloomFilter;
+
+class BloomFilterTests {
+
+	@Test
+	void hasNoFalseNegativesAndStaysNearTargetRate() {
+		BloomFilter filter = new BloomFilter(100_000, 0.01);
+		for (long id = 1; id <= 100_000; id++) {
+			filter.add(id);
+		}
+		for (long id = 1; id <= 100_000; id++) {
+			assertTrue(filter.mightContain(id), "falso negativo para o ID " + id);
+		}
+
+		int falsePositives = 0;
+		for (long id = 1_000_001; id <= 1_100_000; id++) {
+			if (filter.mightContain(id)) {
+				falsePositives++;
+			}
+		}
+		double observed = falsePositives / 100_000.0;
+		assertTrue(observed < 0.02, "taxa de falsos positivos observada: " + observed);
+		assertTrue(filter.expectedFalsePositiveRate() < 0.02, "taxa estimada: " + filter.expectedFalsePositiveRate());
+		assertTrue(filter.memoryBytes() < 200_000, "memória: " + filter.memoryBytes());
+	}
+}
@@ -0,0 +1,109 @@
+package com.dev.gamelist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.dev.gamelist.dto.GameDTO;
+import com.dev.gamelist.dto.GameMinDTO;
+import com.dev.gamelist.entities.Game;
+import com.dev.gamelist.services.CatalogSnapshotFile;
+
+class CatalogSnapshotFileTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void writeAndOpenRoundTrip() throws IOException {
+		Path path = directory.resolve("catalog.snapshot");
+		List<Game> games = List.of(
+				new Game(30L, "Hollow Knight", 2017, "Platform", "PC, Switch", 4.6, "7.png", "Curta", "Longa"),
+				new Game(10L, "Ação & Aventura — ç", null, null, null, null, null, null, null),
+				new Game(20L, "", 1990, "Platform, Puzzle", "", 0.0, "", "", ""));
+		Map<Long, long[]> lists = new LinkedHashMap<>();
+		lists.put(2L, new long[] { 30L, 10L });
+		lists.put(1L, new long[] { 10L, 20L, 30L });
+		lists.put(3L, new long[0]);
+
+		CatalogSnapshotFile.write(path, 123_456_789L, games, lists);
+		CatalogSnapshotFile snapshot = CatalogSnapshotFile.open(path);
+
+		assertEquals(123_456_789L, snapshot.getFingerprint());
+		for (Game game : games) {
+			assertSameGame(game, snapshot.findGame(game.getId()));
+		}
+		assertNull(snapshot.findGame(99L));
+
+		assertEquals(List.of(10L, 20L, 30L), snapshot.gameIds());
+		assertEquals(List.of(1L, 2L, 3L), snapshot.listIds());
+		List<Game> decoded = snapshot.games();
+		assertEquals(3, decoded.size());
+		assertSameGame(games.get(1), new GameDTO(decoded.get(0)));
+		assertSameGame(games.get(0), new GameDTO(decoded.get(2)));
+
+		assertEquals(3, snapshot.countGames(1L));
+		assertEquals(0, snapshot.countGames(3L));
+		assertNull(snapshot.countGames(4L));
+		assertEquals(List.of(10L, 20L, 30L), ids(snapshot.findByList(1L)));
+		assertEquals(List.of(30L, 10L), ids(snapshot.findByList(2L)));
+		assertEquals(List.of(), snapshot.findByList(3L));
+		assertNull(snapshot.findByList(4L));
+		assertEquals(List.of(20L), ids(snapshot.findByListWindow(1L, 1, 2)));
+		assertEquals(List.of(30L), ids(snapshot.findByListWindow(1L, 2, 50)));
+		assertEquals("Hollow Knight", snapshot.findByList(2L).get(0).getTitle());
+	}
+
+	@Test
+	void rewriteReplacesTheFileAtomically() throws IOException {
+		Path path = directory.resolve("catalog.snapshot");
+		CatalogSnapshotFile.write(path, 1L, List.of(new Game(1L, "Antigo", 2000, null, null, 1.0, null, null, null)),
+				Map.of(1L, new long[] { 1L }));
+		CatalogSnapshotFile previous = CatalogSnapshotFile.open(path);
+
+		CatalogSnapshotFile.write(path, 2L, List.of(new Game(1L, "Novo", 2000, null, null, 1.0, null, null, null)),
+				Map.of());
+		CatalogSnapshotFile current = CatalogSnapshotFile.open(path);
+
+		assertEquals("Antigo", previous.findGame(1L).getTitle());
+		assertEquals("Novo", current.findGame(1L).getTitle());
+		assertEquals(2L, current.getFingerprint());
+		assertNull(current.countGames(1L));
+		assertFalse(Files.exists(directory.resolve("catalog.snapshot.tmp")));
+	}
+
+	@Test
+	void rejectsFilesThatAreNotSnapshots() throws IOException {
+		Path path = directory.resolve("other.bin");
+		Files.write(path, new byte[] { 1, 2, 3 });
+
+		assertThrows(IOException.class, () -> CatalogSnapshotFile.open(path));
+	}
+
+	private static void assertSameGame(Game expected, GameDTO actual) {
+		assertEquals(expected.getId(), actual.getId());
+		assertEquals(expected.getTitle(), actual.getTitle());
+		assertEquals(expected.getYear(), actual.getYear());
+		assertEquals(expected.getGenre(), actual.getGenre());
+		assertEquals(expected.getPlatforms(), actual.getPlatforms());
+		assertEquals(expected.getScore(), actual.getScore());
+		assertEquals(expected.getImgUrl(), actual.getImgUrl());
+		assertEquals(expected.getShortDescription(), actual.getShortDescription());
+		assertEquals(expected.getLongDescription(), actual.getLongDescription());
+	}
+
+	private static List<Long> ids(List<GameMinDTO> games) {
+		return games.stream().map(GameMinDTO::getId).toList();
+	}
+}
@@ -0,0 +1,125 @@
+package com.dev.gamelist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.dev.gamelist.dto.GameMinDTO;
+import com.dev.gamelist.entities.Game;
+import com.dev.gamelist.services.ColumnarCatalog;
+import com.dev.gamelist.services.ColumnarCatalog.SortField;
+
+class ColumnarCatalogTests {
+
+	private static final double ANY_SCORE_FROM = Double.NEGATIVE_INFINITY;
+	private static final double ANY_SCORE_TO = Double.POSITIVE_INFINITY;
+
+	@Test
+	void filtersByScoreYearAndGenreTerm() {
+		ColumnarCatalog catalog = ColumnarCatalog.of(List.of(
+				game(1L, 2010, "Role-playing (RPG), Shooter", 4.5),
+				game(2L, 2015, "Shooter", 3.0),
+				game(3L, 2020, "Platform, Puzzle", 4.8),
+				game(4L, 2005, "Role-playing (RPG)", 4.9)));
+
+		assertEquals(List.of(1L, 2L), ids(catalog.query(ANY_SCORE_FROM, ANY_SCORE_TO, Integer.MIN_VALUE,
+				Integer.MAX_VALUE, "shooter", SortField.ID, false, 10)));
+		assertEquals(List.of(4L, 1L), ids(catalog.query(ANY_SCORE_FROM, ANY_SCORE_TO, Integer.MIN_VALUE,
+				Integer.MAX_VALUE, " Role-Playing (RPG) ", SortField.SCORE, true, 10)));
+		assertEquals(List.of(1L, 3L), ids(catalog.query(4.0, 4.8, 2010, 2020, null, SortField.ID, false, 10)));
+		assertEquals(List.of(), catalog.query(ANY_SCORE_FROM, ANY_SCORE_TO, Integer.MIN_VALUE, Integer.MAX_VALUE,
+				"Racing", SortField.ID, false, 10));
+	}
+
+	@Test
+	void topNMatchesAFullSortWithTiesBrokenById() {
+		Random random = new Random(5);
+		List<Game> games = new ArrayList<>();
+		for (long id = 1; id <= 5_000; id++) {
+			games.add(game(id, 1990 + random.nextInt(30), "Action", random.nextInt(11) / 2.0));
+		}
+		ColumnarCatalog catalog = ColumnarCatalog.of(games);
+
+		for (SortField sortField : SortField.values()) {
+			for (boolean descending : new boolean[] { false, true }) {
+				Comparator<Game> order = Comparator.comparingDouble(game -> key(game, sortField));
+				if (descending) {
+					order = order.reversed();
+				}
+				List<Long> expected = games.stream()
+						.sorted(order.thenComparing(Game::getId))
+						.limit(50)
+						.map(Game::getId)
+						.toList();
+				List<GameMinDTO> result = catalog.query(ANY_SCORE_FROM, ANY_SCORE_TO, Integer.MIN_VALUE,
+						Integer.MAX_VALUE, null, sortField, descending, 50);
+				assertEquals(expected, ids(result), sortField + (descending ? " desc" : " asc"));
+			}
+		}
+	}
+
+	@Test
+	void withPatchesOneRowAndKeepsThePreviousVersion() {
+		ColumnarCatalog original = ColumnarCatalog.of(List.of(
+				game(1L, 2010, "Shooter", 4.0),
+				game(2L, 2011, "Puzzle", 3.0),
+				game(3L, 2012, "Shooter, Puzzle", 2.0)));
+
+		ColumnarCatalog updated = original.with(game(2L, 2011, "Shooter", 3.0), false);
+		ColumnarCatalog inserted = updated.with(game(4L, 2013, "Racing", 5.0), false);
+		ColumnarCatalog removed = inserted.with(game(1L, 2010, "Shooter", 4.0), true);
+
+		assertEquals(List.of(1L, 3L), shooters(original));
+		assertEquals(List.of(1L, 2L, 3L), shooters(updated));
+		assertEquals(List.of(2L, 3L), shooters(removed));
+		assertEquals(List.of(4L), ids(removed.query(ANY_SCORE_FROM, ANY_SCORE_TO, Integer.MIN_VALUE,
+				Integer.MAX_VALUE, "racing", SortField.ID, false, 10)));
+		assertEquals(3, original.size());
+		assertEquals(3, removed.size());
+		assertTrue(removed.with(game(99L, 2000, "Shooter", 1.0), true) == removed);
+	}
+
+	@Test
+	void genreBitsetGrowsPastSixtyFourTerms() {
+		List<Game> games = new ArrayList<>();
+		for (long id = 1; id <= 64; id++) {
+			games.add(game(id, 2000, "Genre " + id, 3.0));
+		}
+		ColumnarCatalog catalog = ColumnarCatalog.of(games)
+				.with(game(65L, 2000, "Genre 65, Genre 1", 3.0), false);
+
+		assertEquals(List.of(1L, 65L), ids(catalog.query(ANY_SCORE_FROM, ANY_SCORE_TO, Integer.MIN_VALUE,
+				Integer.MAX_VALUE, "genre 1", SortField.ID, false, 10)));
+		assertEquals(List.of(65L), ids(catalog.query(ANY_SCORE_FROM, ANY_SCORE_TO, Integer.MIN_VALUE,
+				Integer.MAX_VALUE, "genre 65", SortField.ID, false, 10)));
+		assertEquals(List.of(64L), ids(catalog.query(ANY_SCORE_FROM, ANY_SCORE_TO, Integer.MIN_VALUE,
+				Integer.MAX_VALUE, "genre 64", SortField.ID, false, 10)));
+	}
+
+	private static List<Long> shooters(ColumnarCatalog catalog) {
+		return ids(catalog.query(ANY_SCORE_FROM, ANY_SCORE_TO, Integer.MIN_VALUE, Integer.MAX_VALUE, "shooter",
+				SortField.ID, false, 10));
+	}
+
+	private static List<Long> ids(List<GameMinDTO> games) {
+		return games.stream().map(GameMinDTO::getId).toList();
+	}
+
+	private static double key(Game game, SortField sortField) {
+		return switch (sortField) {
+		case ID -> game.getId();
+		case YEAR -> game.getYear();
+		case SCORE -> game.getScore();
+		};
+	}
+
+	private static Game game(Long id, int year, String genre, double score) {
+		return new Game(id, "Jogo " + id, year, genre, "PC", score, null, null, null);
+	}
+}
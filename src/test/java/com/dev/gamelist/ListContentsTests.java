@@ -0,0 +1,146 @@
+package com.dev.gamelist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.dev.gamelist.services.GameListService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ListContentsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void insertsAtPositionAndRemovesClosingTheGap() throws Exception {
+		JsonNode before = games(1L);
+		long first = before.get(0).get("id").asLong();
+		long second = before.get(1).get("id").asLong();
+
+		mockMvc.perform(post("/lists/1/insertion")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"position\": 1, \"gameIds\": [6, 7]}"))
+				.andExpect(status().isNoContent());
+
+		mockMvc.perform(get("/lists/1/games"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(before.size() + 2))
+				.andExpect(jsonPath("$[0].id").value(first))
+				.andExpect(jsonPath("$[1].id").value(6))
+				.andExpect(jsonPath("$[2].id").value(7))
+				.andExpect(jsonPath("$[3].id").value(second));
+
+		mockMvc.perform(post("/lists/1/removal")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"gameIds\": [7, 6]}"))
+				.andExpect(status().isNoContent());
+
+		JsonNode after = games(1L);
+		for (int i = 0; i < before.size(); i++) {
+			if (before.get(i).get("id").asLong() != after.get(i).get("id").asLong()) {
+				throw new AssertionError("Ordem da lista alterada após inserção e remoção: " + after);
+			}
+		}
+	}
+
+	@Test
+	void scatteredRemovalKeepsPositionsContiguous() throws Exception {
+		JsonNode before = games(1L);
+
+		mockMvc.perform(post("/lists/1/insertion")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"position\": 1, \"gameIds\": [8, 9, 10]}"))
+				.andExpect(status().isNoContent());
+		// posições 1 e 3: o jogo entre elas recua uma posição e os seguintes recuam duas
+		mockMvc.perform(post("/lists/1/removal")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"gameIds\": [10, 8]}"))
+				.andExpect(status().isNoContent());
+
+		mockMvc.perform(get("/lists/1/games"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(before.size() + 1))
+				.andExpect(jsonPath("$[0].id").value(before.get(0).get("id").asLong()))
+				.andExpect(jsonPath("$[1].id").value(9))
+				.andExpect(jsonPath("$[2].id").value(before.get(1).get("id").asLong()));
+		assertContiguousPositions(1L, before.size() + 1);
+
+		mockMvc.perform(post("/lists/1/removal")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"gameIds\": [9]}"))
+				.andExpect(status().isNoContent());
+		assertContiguousPositions(1L, before.size());
+	}
+
+	@Test
+	void rejectsOversizedRequests() throws Exception {
+		String gameIds = IntStream.rangeClosed(1, GameListService.MAX_GAMES_PER_REQUEST + 1)
+				.mapToObj(String::valueOf).collect(Collectors.joining(", ", "[", "]"));
+
+		mockMvc.perform(post("/lists/1/insertion")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"position\": 0, \"gameIds\": " + gameIds + "}"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/lists/1/removal")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"gameIds\": " + gameIds + "}"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void rejectsInvalidInsertionsAndRemovals() throws Exception {
+		mockMvc.perform(post("/lists/1/insertion")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"position\": 1000, \"gameIds\": [6]}"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/lists/1/insertion")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"position\": 0, \"gameIds\": [6, 6]}"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/lists/1/insertion")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"position\": 0, \"gameIds\": [999999]}"))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(post("/lists/1/removal")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"gameIds\": [10]}"))
+				.andExpect(status().isNotFound());
+	}
+
+	private void assertContiguousPositions(Long listId, int size) {
+		List<Integer> positions = jdbcTemplate.queryForList(
+				"SELECT position FROM tb_belonging WHERE list_id = ? ORDER BY position", Integer.class, listId);
+		assertEquals(IntStream.range(0, size).boxed().toList(), positions);
+	}
+
+	private JsonNode games(Long listId) throws Exception {
+		String body = mockMvc.perform(get("/lists/" + listId + "/games"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+}
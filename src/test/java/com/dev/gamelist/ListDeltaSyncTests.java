@@ -0,0 +1,93 @@
+package com.dev.gamelist;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ListDeltaSyncTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void returnsOnlyChangedPositionsSinceVersion() throws Exception {
+		JsonNode initial = sync(1L, -1L);
+		long version = initial.get("version").asLong();
+		long movedGameId = initial.get("games").get(0).get("id").asLong();
+
+		mockMvc.perform(post("/lists/1/replacement")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"sourceIndex\": 0, \"destinationIndex\": 2}"))
+				.andExpect(status().isNoContent());
+
+		mockMvc.perform(get("/lists/1/games").param("sinceVersion", String.valueOf(version)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.version").value(version + 1))
+				.andExpect(jsonPath("$.full").value(false))
+				.andExpect(jsonPath("$.changes.length()").value(3))
+				.andExpect(jsonPath("$.changes[?(@.gameId == " + movedGameId + ")].position").value(2));
+
+		mockMvc.perform(get("/lists/1/games").param("sinceVersion", String.valueOf(version + 1)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.changes.length()").value(0));
+	}
+
+	@Test
+	void ignoresChangesNewerThanTheReturnedVersion() throws Exception {
+		JsonNode initial = sync(1L, -1L);
+		long version = initial.get("version").asLong();
+		long movedGameId = initial.get("games").get(0).get("id").asLong();
+
+		mockMvc.perform(post("/lists/1/replacement")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"sourceIndex\": 0, \"destinationIndex\": 1}"))
+				.andExpect(status().isNoContent());
+		// entrada de uma reordenação confirmada depois que a versão da resposta foi lida
+		jdbcTemplate.update("INSERT INTO tb_list_change (list_id, version, game_id, position) VALUES (1, ?, ?, 99)",
+				version + 1_000, movedGameId);
+		try {
+			mockMvc.perform(get("/lists/1/games").param("sinceVersion", String.valueOf(version)))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.version").value(version + 1))
+					.andExpect(jsonPath("$.full").value(false))
+					.andExpect(jsonPath("$.changes[?(@.gameId == " + movedGameId + ")].position").value(1));
+		} finally {
+			jdbcTemplate.update("DELETE FROM tb_list_change WHERE list_id = 1 AND version = ?", version + 1_000);
+		}
+	}
+
+	@Test
+	void returnsFullListForUnknownVersion() throws Exception {
+		mockMvc.perform(get("/lists/2/games").param("sinceVersion", "1000000"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.full").value(true))
+				.andExpect(jsonPath("$.games.length()").value(5));
+	}
+
+	private JsonNode sync(Long listId, long sinceVersion) throws Exception {
+		String body = mockMvc.perform(get("/lists/" + listId + "/games").param("sinceVersion", String.valueOf(sinceVersion)))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+}
@@ -0,0 +1,95 @@
+package com.dev.gamelist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.dev.gamelist.services.GameListService;
+import com.dev.gamelist.services.MembershipFilterService;
+
+// insere 1.000 jogos no meio de uma lista de 100 mil em uma única transação e verifica que o tempo
+// fica limitado (um UPDATE de deslocamento + um lote de INSERTs) e que as posições continuam contíguas
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ListInsertionBenchmarkTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(ListInsertionBenchmarkTests.class);
+
+	private static final long LIST_ID = 1_000L;
+	private static final long FIRST_GAME_ID = 1_000_000L;
+	private static final int LIST_SIZE = 100_000;
+	private static final int INSERTED = 1_000;
+	private static final int INSERT_POSITION = LIST_SIZE / 2;
+	private static final long MAX_MILLIS = 10_000;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private GameListService gameListService;
+
+	@Autowired
+	private MembershipFilterService membershipFilter;
+
+	@BeforeAll
+	void createLargeList() {
+		List<Object[]> games = new ArrayList<>(LIST_SIZE + INSERTED);
+		for (int i = 0; i < LIST_SIZE + INSERTED; i++) {
+			games.add(new Object[] { FIRST_GAME_ID + i, "Benchmark " + i });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO tb_game (id, title) VALUES (?, ?)", games);
+		jdbcTemplate.update("INSERT INTO tb_game_list (id, name, game_count, version) VALUES (?, ?, ?, 0)",
+				LIST_ID, "Benchmark", LIST_SIZE);
+		List<Object[]> belongings = new ArrayList<>(LIST_SIZE);
+		for (int i = 0; i < LIST_SIZE; i++) {
+			belongings.add(new Object[] { LIST_ID, FIRST_GAME_ID + i, i });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO tb_belonging (list_id, game_id, position) VALUES (?, ?, ?)", belongings);
+		// linhas gravadas por fora do JPA: o filtro de existência precisa conhecer a nova lista
+		membershipFilter.rebuild();
+	}
+
+	@Test
+	void insertsThousandGamesIntoMiddleOfLargeList() {
+		List<Long> gameIds = new ArrayList<>(INSERTED);
+		for (int i = 0; i < INSERTED; i++) {
+			gameIds.add(FIRST_GAME_ID + LIST_SIZE + i);
+		}
+
+		long start = System.nanoTime();
+		gameListService.insertGames(LIST_ID, INSERT_POSITION, gameIds);
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		logger.info("Inserção de {} jogos na posição {} de uma lista com {}: {} ms", INSERTED, INSERT_POSITION,
+				LIST_SIZE, elapsedMillis);
+		assertTrue(elapsedMillis < MAX_MILLIS, "Inserção levou " + elapsedMillis + " ms");
+
+		int total = LIST_SIZE + INSERTED;
+		assertEquals(total, jdbcTemplate.queryForObject(
+				"SELECT game_count FROM tb_game_list WHERE id = ?", Integer.class, LIST_ID));
+		assertEquals(total, jdbcTemplate.queryForObject(
+				"SELECT COUNT(DISTINCT position) FROM tb_belonging WHERE list_id = ? AND position >= 0 AND position < ?",
+				Integer.class, LIST_ID, total));
+		assertEquals(INSERT_POSITION, position(FIRST_GAME_ID + LIST_SIZE));
+		assertEquals(INSERT_POSITION - 1, position(FIRST_GAME_ID + INSERT_POSITION - 1));
+		assertEquals(INSERT_POSITION + INSERTED, position(FIRST_GAME_ID + INSERT_POSITION));
+	}
+
+	private int position(long gameId) {
+		return jdbcTemplate.queryForObject("SELECT position FROM tb_belonging WHERE list_id = ? AND game_id = ?",
+				Integer.class, LIST_ID, gameId);
+	}
+}
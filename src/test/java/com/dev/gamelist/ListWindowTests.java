@@ -0,0 +1,78 @@
+package com.dev.gamelist;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// janelas [from, to) de GET /lists/{listId}/games comparadas com a leitura da lista inteira
+@SpringBootTest
+@AutoConfigureMockMvc
+class ListWindowTests {
+
+	private static final String TOTAL = "X-Total-Count";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void windowsMatchSlicesOfTheFullList() throws Exception {
+		JsonNode full = objectMapper.readTree(mockMvc.perform(get("/lists/2/games"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+		int size = full.size();
+
+		expectSlice(window("1", "3"), full, 1, 3);
+		expectSlice(window("0", null), full, 0, size);
+		expectSlice(window(null, "2"), full, 0, 2);
+		expectSlice(window(String.valueOf(size - 1), String.valueOf(size + 100)), full, size - 1, size);
+	}
+
+	@Test
+	void emptyWindowsReturnNoContentWithTotal() throws Exception {
+		window("5", null).andExpect(status().isNoContent()).andExpect(header().string(TOTAL, "5"));
+		window("2", "2").andExpect(status().isNoContent()).andExpect(header().string(TOTAL, "5"));
+		window("100", "200").andExpect(status().isNoContent()).andExpect(header().string(TOTAL, "5"));
+	}
+
+	@Test
+	void invalidWindowsAreRejected() throws Exception {
+		window("-1", "2").andExpect(status().isBadRequest());
+		window("3", "2").andExpect(status().isBadRequest());
+		mockMvc.perform(get("/lists/999999/games").param("from", "0").param("to", "2"))
+				.andExpect(status().isNotFound());
+	}
+
+	private ResultActions window(String from, String to) throws Exception {
+		var request = get("/lists/2/games");
+		if (from != null) {
+			request.param("from", from);
+		}
+		if (to != null) {
+			request.param("to", to);
+		}
+		return mockMvc.perform(request);
+	}
+
+	private static void expectSlice(ResultActions result, JsonNode full, int from, int to) throws Exception {
+		result.andExpect(status().isOk())
+				.andExpect(header().string(TOTAL, String.valueOf(full.size())))
+				.andExpect(jsonPath("$.length()").value(to - from));
+		for (int i = from; i < to; i++) {
+			result.andExpect(jsonPath("$[" + (i - from) + "].id").value(full.get(i).get("id").asLong()));
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package com.dev.gamelist;
+
+import static com.dev.gamelist.QueryCountAssertions.assertMaxQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.dev.gamelist.config.QueryProfile;
+
+// o filtro de existência vem desligado por padrão; aqui ele é ligado para medir os 404 sem consultas
+@SpringBootTest(properties = "membership-filter.enabled=true")
+@AutoConfigureMockMvc
+class QueryBudgetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void findGameByIdUsesOneQuery() throws Exception {
+		assertMaxQueries(1, () -> mockMvc.perform(get("/games/1")).andExpect(status().isOk()));
+	}
+
+	@Test
+	void searchByListUsesOneQuery() throws Exception {
+		assertMaxQueries(1, () -> mockMvc.perform(get("/lists/1/games")).andExpect(status().isOk()));
+	}
+
+	@Test
+	void moveDoesNotUpdateRowByRow() throws Exception {
+		// lista bloqueada, deslocamento das posições, nova versão e registro no log de mudanças
+		assertMaxQueries(4, () -> mockMvc.perform(post("/lists/2/replacement")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"sourceIndex\": 0, \"destinationIndex\": 4}"))
+				.andExpect(status().isNoContent()));
+	}
+
+	@Test
+	void unknownIdsAreRejectedWithoutQueries() throws Exception {
+		assertMaxQueries(0, () -> mockMvc.perform(get("/games/999999")).andExpect(status().isNotFound()));
+		assertMaxQueries(0, () -> mockMvc.perform(get("/lists/999999/games")).andExpect(status().isNotFound()));
+	}
+
+	@Test
+	void jdbcTemplateStatementsAndBatchesAreCounted() throws Exception {
+		QueryProfile profile = assertMaxQueries(2, () -> {
+			jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_game", Long.class);
+			jdbcTemplate.batchUpdate("UPDATE tb_game SET title = title WHERE id = ?",
+					List.of(new Object[] { 1L }, new Object[] { 2L }, new Object[] { 3L }));
+		});
+		assertEquals(2, profile.getStatementCount());
+	}
+}
@@ -0,0 +1,30 @@
+package com.dev.gamelist;
+
+import com.dev.gamelist.config.QueryProfile;
+import com.dev.gamelist.config.QueryProfiler;
+
+// utilitário de teste que falha quando uma ação executa mais statements do que o orçamento permitido
+public final class QueryCountAssertions {
+
+	@FunctionalInterface
+	public interface ThrowingRunnable {
+		void run() throws Exception;
+	}
+
+	private QueryCountAssertions() {
+	}
+
+	public static QueryProfile assertMaxQueries(int maxStatements, ThrowingRunnable action) throws Exception {
+		QueryProfile profile = QueryProfiler.begin();
+		try {
+			action.run();
+		} finally {
+			QueryProfiler.end();
+		}
+		if (profile.getStatementCount() > maxStatements) {
+			throw new AssertionError("Esperado no máximo " + maxStatements + " statement(s), mas foram executados "
+					+ profile.getStatementCount() + ": " + profile.summary());
+		}
+		return profile;
+	}
+}
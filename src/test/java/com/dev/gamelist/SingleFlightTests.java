@@ -0,0 +1,143 @@
+package com.dev.gamelist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.dev.gamelist.exceptions.ApiExceptionHandler;
+import com.dev.gamelist.exceptions.ServiceUnavailableException;
+import com.dev.gamelist.services.SingleFlight;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SingleFlightTests {
+
+	private static final int WAITERS = 8;
+
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+	private final CountDownLatch started = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+	private ExecutorService callers;
+
+	@BeforeEach
+	void createCallers() {
+		callers = Executors.newFixedThreadPool(WAITERS + 1);
+	}
+
+	@AfterEach
+	void stopCallers() {
+		release.countDown();
+		callers.shutdownNow();
+	}
+
+	@Test
+	void concurrentCallersShareOneExecution() throws Exception {
+		SingleFlight<Long, String> flight = new SingleFlight<>("test", 5_000, 1, registry);
+		AtomicInteger calls = new AtomicInteger();
+
+		List<Future<String>> results = callConcurrently(flight, () -> {
+			calls.incrementAndGet();
+			return "resultado";
+		});
+		for (Future<String> result : results) {
+			assertEquals("resultado", result.get(5, TimeUnit.SECONDS));
+		}
+
+		assertEquals(1, calls.get());
+		assertEquals(1, count("gamelist.singleflight.executions"));
+		assertEquals(WAITERS, count("gamelist.singleflight.coalesced"));
+
+		// encerrada a consulta, a chave sai do mapa e a próxima chamada executa de novo
+		assertEquals("outro", flight.execute(1L, () -> "outro"));
+		assertEquals(2, count("gamelist.singleflight.executions"));
+	}
+
+	@Test
+	void exceptionReachesEveryWaiter() throws Exception {
+		SingleFlight<Long, String> flight = new SingleFlight<>("test", 5_000, 1, registry);
+		IllegalStateException failure = new IllegalStateException("falha na consulta");
+
+		List<Future<String>> results = callConcurrently(flight, () -> {
+			throw failure;
+		});
+		for (Future<String> result : results) {
+			ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+			assertSame(failure, thrown.getCause());
+		}
+		assertEquals(1, count("gamelist.singleflight.executions"));
+	}
+
+	@Test
+	void waiterTimeoutBecomes503WithConfiguredRetryAfter() throws Exception {
+		SingleFlight<Long, String> flight = new SingleFlight<>("test", 50, 7, registry);
+		Future<String> leader = callers.submit(() -> flight.execute(1L, blocking(() -> "resultado")));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		ServiceUnavailableException thrown = assertThrows(ServiceUnavailableException.class,
+				() -> flight.execute(1L, () -> "não deveria executar"));
+		ResponseEntity<String> response = new ApiExceptionHandler().handleServiceUnavailable(thrown);
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+		assertEquals("7", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		assertEquals(1, count("gamelist.singleflight.timeouts"));
+
+		// quem executa a consulta não é afetado pela desistência de quem aguardava
+		release.countDown();
+		assertEquals("resultado", leader.get(5, TimeUnit.SECONDS));
+	}
+
+	// a primeira chamada fica bloqueada na consulta até que todas as outras estejam aguardando por ela
+	private List<Future<String>> callConcurrently(SingleFlight<Long, String> flight, Supplier<String> loader)
+			throws Exception {
+		List<Future<String>> results = new ArrayList<>();
+		results.add(callers.submit(() -> flight.execute(1L, blocking(loader))));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		for (int i = 0; i < WAITERS; i++) {
+			results.add(callers.submit(() -> flight.execute(1L, () -> {
+				throw new AssertionError("a consulta deveria ter sido agrupada");
+			})));
+		}
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (count("gamelist.singleflight.coalesced") < WAITERS && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		release.countDown();
+		return results;
+	}
+
+	private Supplier<String> blocking(Supplier<String> loader) {
+		return () -> {
+			started.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return loader.get();
+		};
+	}
+
+	private long count(String name) {
+		return (long) registry.get(name).tag("name", "test").counter().count();
+	}
+}
@@ -0,0 +1,223 @@
+package com.dev.gamelist.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.dev.gamelist.dto.GameMinDTO;
+import com.dev.gamelist.entities.Game;
+import com.dev.gamelist.events.GameChangedEvent;
+import com.dev.gamelist.repositories.GameRepository;
+
+// modo write-behind: aplicação das reordenações, flush e replay do journal após quedas
+@SpringBootTest
+class ListOrderBufferTests {
+
+	private static final AtomicLong NEXT_LIST_ID = new AtomicLong(3_000L);
+
+	@Autowired
+	private GameRepository gameRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@TempDir
+	private Path directory;
+
+	private Path journal;
+	private long listId;
+
+	// cada teste usa uma lista própria
+	@BeforeEach
+	void createList() {
+		journal = directory.resolve("reorder.journal");
+		listId = insertList();
+	}
+
+	@Test
+	void applyMatchesRemoveThenAdd() {
+		for (int source = 0; source < 5; source++) {
+			for (int destination = 0; destination < 5; destination++) {
+				long[] order = { 10, 11, 12, 13, 14 };
+				List<Long> expected = new ArrayList<>(List.of(10L, 11L, 12L, 13L, 14L));
+				expected.add(destination, expected.remove(source));
+				ListOrderBuffer.apply(order, source, destination);
+				assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), order);
+			}
+		}
+	}
+
+	@Test
+	void flushWritesOnlyAccumulatedOrder() throws Exception {
+		ListOrderBuffer buffer = newBuffer();
+		buffer.move(listId, 0, 2);
+		buffer.move(listId, 0, 1);
+		assertArrayEquals(new long[] { 1, 2, 3 }, databaseOrder());
+		assertArrayEquals(new long[] { 3, 2, 1 }, bufferedOrder(buffer));
+
+		buffer.flush();
+		assertArrayEquals(new long[] { 3, 2, 1 }, databaseOrder());
+		assertEquals(1L, jdbcTemplate.queryForObject("SELECT version FROM tb_game_list WHERE id = ?", Long.class, listId));
+		buffer.shutdown();
+	}
+
+	@Test
+	void replayAppliesMovesThatNeverReachedTheDatabase() throws Exception {
+		ListOrderBuffer crashed = newBuffer();
+		crashed.move(listId, 0, 2);
+		crash(crashed);
+		assertArrayEquals(new long[] { 1, 2, 3 }, databaseOrder());
+
+		ListOrderBuffer recovered = newBuffer();
+		assertArrayEquals(new long[] { 2, 3, 1 }, databaseOrder());
+
+		// as sequências continuam depois das já gravadas
+		recovered.move(listId, 0, 1);
+		recovered.shutdown();
+		assertArrayEquals(new long[] { 3, 2, 1 }, databaseOrder());
+	}
+
+	@Test
+	void replaySkipsMovesFlushedBeforeTheJournalWasTruncated() throws Exception {
+		ListOrderBuffer crashed = newBuffer();
+		crashed.move(listId, 0, 1); // [2, 1, 3]
+		crashed.move(listId, 0, 2); // [1, 3, 2]
+		byte[] beforeDiscard = Files.readAllBytes(journal);
+		crashed.flush();
+		crash(crashed);
+		assertArrayEquals(new long[] { 1, 3, 2 }, databaseOrder());
+
+		// queda entre o commit do flush e o truncamento do journal: os registros continuam lá
+		Files.write(journal, beforeDiscard);
+		ListOrderBuffer recovered = newBuffer();
+		assertArrayEquals(new long[] { 1, 3, 2 }, databaseOrder());
+		recovered.shutdown();
+	}
+
+	@Test
+	void appendAfterATornRecordStaysAligned() throws Exception {
+		ListOrderBuffer crashed = newBuffer();
+		crashed.move(listId, 0, 2); // [2, 3, 1]
+		crash(crashed);
+		// queda no meio da escrita de um registro: só parte dos bytes chegou ao disco
+		Files.write(journal, new byte[ReorderJournal.RECORD_SIZE / 2], StandardOpenOption.APPEND);
+
+		try (ReorderJournal reopened = new ReorderJournal(journal, 0L)) {
+			assertEquals(ReorderJournal.HEADER_SIZE + ReorderJournal.RECORD_SIZE, Files.size(journal));
+			reopened.append(listId, 3L, 1, 0);
+		}
+		try (ReorderJournal reopened = new ReorderJournal(journal, 0L)) {
+			List<ReorderJournal.Entry> entries = reopened.readAll();
+			assertEquals(2, entries.size());
+			assertEquals(new ReorderJournal.Entry(2L, listId, 3L, 1, 0), entries.get(1));
+		}
+
+		ListOrderBuffer recovered = newBuffer();
+		assertArrayEquals(new long[] { 3, 2, 1 }, databaseOrder());
+		recovered.shutdown();
+	}
+
+	@Test
+	void gameChangesReachCachedListAndRemovalsEvictIt() throws Exception {
+		ListOrderBuffer buffer = newBuffer();
+		buffer.move(listId, 0, 1);
+		assertTrue(buffer.isHot(listId));
+
+		Game edited = gameRepository.findById(1L).orElseThrow();
+		edited.setTitle("Título editado");
+		buffer.onGameChanged(new GameChangedEvent(edited, false));
+		assertTrue(buffer.findByList(listId).stream().anyMatch(game -> "Título editado".equals(game.getTitle())));
+
+		buffer.onGameChanged(new GameChangedEvent(edited, true));
+		assertFalse(buffer.isHot(listId));
+		assertArrayEquals(new long[] { 2, 1, 3 }, databaseOrder());
+		buffer.shutdown();
+	}
+
+	@Test
+	void exclusiveActionWritesPendingMovesAndLocksOnlyItsList() throws Exception {
+		ListOrderBuffer buffer = newBuffer();
+		long otherListId = insertList();
+		buffer.move(listId, 0, 1);
+		ExecutorService other = Executors.newSingleThreadExecutor();
+		try {
+			buffer.runExclusive(listId, () -> {
+				// com um lock global, a reordenação de outra lista ficaria bloqueada até o fim da ação
+				Future<?> move = other.submit(() -> buffer.move(otherListId, 0, 2));
+				assertDoesNotThrow(() -> move.get(5, TimeUnit.SECONDS));
+				assertArrayEquals(new long[] { 2, 1, 3 }, databaseOrder());
+			});
+		} finally {
+			other.shutdownNow();
+		}
+		assertFalse(buffer.isHot(listId));
+		assertTrue(buffer.isHot(otherListId));
+
+		buffer.flush();
+		assertEquals(List.of(2L, 3L, 1L), jdbcTemplate.queryForList(
+				"SELECT game_id FROM tb_belonging WHERE list_id = ? ORDER BY position", Long.class, otherListId));
+		buffer.shutdown();
+	}
+
+	private ListOrderBuffer newBuffer() throws Exception {
+		ListOrderBuffer buffer = new ListOrderBuffer();
+		ReflectionTestUtils.setField(buffer, "gameRepository", gameRepository);
+		ReflectionTestUtils.setField(buffer, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(buffer, "transactionManager", transactionManager);
+		ReflectionTestUtils.setField(buffer, "enabled", true);
+		ReflectionTestUtils.setField(buffer, "journalPath", journal.toString());
+		ReflectionTestUtils.setField(buffer, "idleEvictionMillis", 300_000L);
+		buffer.init();
+		return buffer;
+	}
+
+	// nova lista com os jogos [1, 2, 3]
+	private long insertList() {
+		long id = NEXT_LIST_ID.incrementAndGet();
+		jdbcTemplate.update("INSERT INTO tb_game_list (id, name, game_count, version) VALUES (?, ?, 3, 0)", id,
+				"Write-behind " + id);
+		for (int i = 0; i < 3; i++) {
+			jdbcTemplate.update("INSERT INTO tb_belonging (list_id, game_id, position) VALUES (?, ?, ?)", id, i + 1L, i);
+		}
+		return id;
+	}
+
+	// simula uma queda: o journal é fechado sem o flush do desligamento
+	private static void crash(ListOrderBuffer buffer) throws Exception {
+		((ReorderJournal) ReflectionTestUtils.getField(buffer, "journal")).close();
+	}
+
+	private long[] databaseOrder() {
+		return jdbcTemplate.queryForList("SELECT game_id FROM tb_belonging WHERE list_id = ? ORDER BY position", Long.class, listId)
+				.stream().mapToLong(Long::longValue).toArray();
+	}
+
+	private long[] bufferedOrder(ListOrderBuffer buffer) {
+		return buffer.findByList(listId).stream().map(GameMinDTO::getId).mapToLong(Long::longValue).toArray();
+	}
+}
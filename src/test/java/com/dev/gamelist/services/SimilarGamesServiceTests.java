@@ -0,0 +1,202 @@
+package com.dev.gamelist.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dev.gamelist.entities.Game;
+import com.dev.gamelist.events.GameChangedEvent;
+import com.dev.gamelist.services.SimilarGamesService.Model;
+
+class SimilarGamesServiceTests {
+
+	private static final int K = 5;
+	private static final String[] GENRES = { "Action", "RPG", "Shooter", "Puzzle", "Platform", "Strategy", "Racing" };
+	private static final String[] PLATFORMS = { "PC", "PS5", "XBox", "Switch", "Mobile" };
+
+	@Test
+	void topKReturnsTheMostSimilarGamesInDescendingOrder() {
+		Model model = Model.of(catalog(200, new Random(7)));
+		for (int row = 0; row < model.size(); row++) {
+			int[] neighbors = SimilarGamesService.topK(model, row, K);
+
+			assertEquals(K, neighbors.length);
+			for (int i = 1; i < neighbors.length; i++) {
+				assertTrue(similarity(model, row, neighbors[i - 1]) >= similarity(model, row, neighbors[i]),
+						"vizinhos fora de ordem na linha " + row);
+			}
+			assertArrayEquals(bruteForce(model, row, K), similarities(model, row, neighbors), 1e-12);
+		}
+	}
+
+	@Test
+	void topKIsLimitedBySmallCatalogs() {
+		Model model = Model.of(catalog(3, new Random(1)));
+
+		assertEquals(2, SimilarGamesService.topK(model, 0, K).length);
+		assertEquals(0, SimilarGamesService.topK(Model.of(catalog(1, new Random(1))), 0, K).length);
+	}
+
+	@Test
+	void rowsNotMarkedAsAffectedKeepValidNeighbors() {
+		Random random = new Random(11);
+		List<Game> catalog = catalog(300, random);
+		Model before = computed(catalog);
+
+		for (int attempt = 0; attempt < 20; attempt++) {
+			int changed = random.nextInt(catalog.size());
+			catalog.set(changed, game(catalog.get(changed).getId(), random));
+			Model after = Model.of(catalog);
+			for (int row = 0; row < after.size(); row++) {
+				after.neighbors[row] = before.neighbors[row];
+			}
+
+			for (int row = 0; row < after.size(); row++) {
+				if (row == changed || SimilarGamesService.isAffected(after, row, changed, K)) {
+					continue;
+				}
+				assertArrayEquals(bruteForce(after, row, K), similarities(after, row, after.neighbors[row]), 1e-12,
+						"linha " + row + " deveria ter sido invalidada pela mudança em " + changed);
+			}
+			before = computed(catalog);
+		}
+	}
+
+	@Test
+	void incrementalUpdatesMatchAFullRecompute() {
+		Random random = new Random(23);
+		List<Game> catalog = catalog(250, random);
+		SimilarGamesService service = new SimilarGamesService();
+		ReflectionTestUtils.setField(service, "maxK", K);
+		ReflectionTestUtils.setField(service, "pool", ForkJoinPool.commonPool());
+		ReflectionTestUtils.setField(service, "model", computed(catalog));
+
+		Game updated = game(catalog.get(42).getId(), random);
+		catalog.set(42, updated);
+		service.apply(new GameChangedEvent(updated, false));
+		Game inserted = game(10_000L, random);
+		catalog.add(inserted);
+		service.apply(new GameChangedEvent(inserted, false));
+		Game removed = catalog.remove(17);
+		service.apply(new GameChangedEvent(removed, true));
+
+		Model incremental = (Model) ReflectionTestUtils.getField(service, "model");
+		Model expected = computed(catalog);
+		assertArrayEquals(expected.ids, incremental.ids);
+		for (int row = 0; row < expected.size(); row++) {
+			assertArrayEquals(similarities(expected, row, expected.neighbors[row]),
+					similarities(incremental, row, incremental.neighbors[row]), 1e-12, "linha " + row);
+		}
+	}
+
+	@Test
+	void genreScoresStayExactPastSixtyFourTerms() {
+		List<Game> catalog = new ArrayList<>();
+		for (long id = 1; id <= 100; id++) {
+			catalog.add(new Game(id, "Jogo " + id, 2000, "Genre " + id + ", Genre " + (id * 7 % 100 + 1), "PC", 3.0,
+					null, null, null));
+		}
+		assertExactGenreScores(catalog, Model.of(catalog));
+
+		// o dicionário passa de 64 termos durante as atualizações incrementais e o bitset é alargado
+		SimilarGamesService service = new SimilarGamesService();
+		ReflectionTestUtils.setField(service, "maxK", K);
+		ReflectionTestUtils.setField(service, "pool", ForkJoinPool.commonPool());
+		ReflectionTestUtils.setField(service, "model", computed(catalog.subList(0, 40)));
+		for (Game game : catalog.subList(40, catalog.size())) {
+			service.apply(new GameChangedEvent(game, false));
+		}
+		service.apply(new GameChangedEvent(catalog.get(0), true));
+		assertExactGenreScores(catalog.subList(1, catalog.size()), (Model) ReflectionTestUtils.getField(service, "model"));
+	}
+
+	// jogos iguais em tudo, exceto nos gêneros: a similaridade cresce linearmente com o Jaccard dos termos,
+	// de "disjoint" (nenhum termo em comum) a "same" (mesmos termos); bits compartilhados entre termos a inflariam
+	private static void assertExactGenreScores(List<Game> catalog, Model model) {
+		double same = similarity(model, 0, 0);
+		double disjoint = similarity(model, 0, model.indexById.get(disjointFrom(catalog, 0).getId()));
+		for (int a = 0; a < catalog.size(); a++) {
+			for (int b = 0; b < catalog.size(); b++) {
+				double jaccard = jaccard(terms(catalog.get(a)), terms(catalog.get(b)));
+				int rowA = model.indexById.get(catalog.get(a).getId());
+				int rowB = model.indexById.get(catalog.get(b).getId());
+				assertEquals(disjoint + (same - disjoint) * jaccard, similarity(model, rowA, rowB), 1e-12,
+						catalog.get(a).getGenre() + " x " + catalog.get(b).getGenre());
+			}
+		}
+	}
+
+	private static Game disjointFrom(List<Game> catalog, int index) {
+		Set<String> terms = terms(catalog.get(index));
+		return catalog.stream().filter(game -> Collections.disjoint(terms, terms(game))).findFirst().orElseThrow();
+	}
+
+	private static Set<String> terms(Game game) {
+		return Arrays.stream(game.getGenre().split(",")).map(String::trim).collect(Collectors.toSet());
+	}
+
+	private static double jaccard(Set<String> a, Set<String> b) {
+		Set<String> union = new HashSet<>(a);
+		union.addAll(b);
+		return (double) a.stream().filter(b::contains).count() / union.size();
+	}
+
+	private static Model computed(List<Game> catalog) {
+		Model model = Model.of(catalog);
+		for (int row = 0; row < model.size(); row++) {
+			model.neighbors[row] = SimilarGamesService.topK(model, row, K);
+		}
+		return model;
+	}
+
+	private static double[] bruteForce(Model model, int row, int k) {
+		double[] all = new double[model.size() - 1];
+		for (int j = 0, i = 0; j < model.size(); j++) {
+			if (j != row) {
+				all[i++] = similarity(model, row, j);
+			}
+		}
+		Arrays.sort(all);
+		double[] best = new double[Math.min(k, all.length)];
+		for (int i = 0; i < best.length; i++) {
+			best[i] = all[all.length - 1 - i];
+		}
+		return best;
+	}
+
+	private static double[] similarities(Model model, int row, int[] neighbors) {
+		return Arrays.stream(neighbors).mapToDouble(j -> similarity(model, row, j)).toArray();
+	}
+
+	private static double similarity(Model model, int a, int b) {
+		return SimilarGamesService.similarity(model, a, b);
+	}
+
+	private static List<Game> catalog(int size, Random random) {
+		List<Game> catalog = new ArrayList<>(size);
+		for (long id = 1; id <= size; id++) {
+			catalog.add(game(id, random));
+		}
+		return catalog;
+	}
+
+	private static Game game(Long id, Random random) {
+		String genre = GENRES[random.nextInt(GENRES.length)] + ", " + GENRES[random.nextInt(GENRES.length)];
+		String platforms = PLATFORMS[random.nextInt(PLATFORMS.length)] + ", " + PLATFORMS[random.nextInt(PLATFORMS.length)];
+		return new Game(id, "Jogo " + id, 1990 + random.nextInt(35), genre, platforms,
+				Math.round(random.nextDouble() * 50) / 10.0, null, null, null);
+	}
+}